@@ -0,0 +1,27 @@
+package com.shukla.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// CORS for the frontend, answered here once instead of by each service; preflights never reach a service
+@Configuration
+public class CorsConfig implements WebMvcConfigurer {
+
+    private final String[] allowedOrigins;
+
+    public CorsConfig(@Value("${gateway.cors.allowed-origins:http://localhost:5173}") String[] allowedOrigins) {
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        for (String pattern : new String[]{"/api/**", "/auth/**"}) {
+            registry.addMapping(pattern)
+                    .allowedOrigins(allowedOrigins)
+                    .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                    .allowedHeaders("*");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.shukla.controller;
+
+import com.shukla.gateway.ResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Explicit purge of the gateway response cache, e.g. after data was changed without going through the gateway.
+// DELETE /gateway/cache?path=/api/salons drops everything under that prefix, without path everything.
+@RestController
+@RequestMapping("/gateway/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final ResponseCache responseCache;
+
+    @DeleteMapping
+    public ResponseEntity<Void> purge(@RequestParam(required = false) String path) {
+        if (path == null || path.isBlank()) {
+            responseCache.purgeAll();
+        } else {
+            responseCache.purge(path);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
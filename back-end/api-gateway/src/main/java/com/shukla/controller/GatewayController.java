@@ -0,0 +1,98 @@
+package com.shukla.controller;
+
+import com.shukla.gateway.RequestCoalescer;
+import com.shukla.gateway.ResponseCache;
+import com.shukla.gateway.RouteTable;
+import com.shukla.gateway.UpstreamClient;
+import com.shukla.gateway.UpstreamResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+
+// Single entry point for the frontend: every /api/** (and /auth/**) request is forwarded to the service
+// RouteTable names. GETs on cacheable paths are answered from ResponseCache when possible and otherwise
+// coalesced, so N concurrent misses for one key cost one upstream call. A successful write purges the
+// cached responses of the service it went to.
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class GatewayController {
+
+    private final RouteTable routeTable;
+    private final UpstreamClient upstreamClient;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+
+    @RequestMapping({"/api/**", "/auth/**"})
+    public ResponseEntity<?> forward(HttpServletRequest request, @RequestHeader HttpHeaders headers) throws IOException {
+        String path = request.getRequestURI();
+        RouteTable.Route route = routeTable.resolve(path);
+        if (route == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "No service handles " + path));
+        }
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        String target = ResponseCache.key(path, request.getQueryString());
+
+        try {
+            if (method.equals(HttpMethod.GET) && responseCache.isCacheable(path)) {
+                return cachedGet(route, target, headers, request.getRemoteAddr());
+            }
+            byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+            UpstreamResponse response = upstreamClient.send(route, method, target, headers, body, request.getRemoteAddr());
+            if (!method.equals(HttpMethod.GET) && !method.equals(HttpMethod.HEAD)
+                    && !method.equals(HttpMethod.OPTIONS) && response.status() < 400) {
+                int purged = responseCache.purge(route.prefix());
+                log.debug("gateway cache purged after write method={} prefix={} entries={}", method, route.prefix(), purged);
+            }
+            return response.toResponseEntity();
+        } catch (HttpTimeoutException e) {
+            log.warn("gateway upstream timeout method={} path={} upstream={}", method, path, route.baseUrl());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(Map.of("error", "Upstream service did not answer in time."));
+        } catch (IOException e) {
+            log.warn("gateway upstream unavailable method={} path={} upstream={} error={}",
+                    method, path, route.baseUrl(), e.toString());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .body(Map.of("error", "Upstream service is unavailable."));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Interrupted while waiting for the upstream service."));
+        }
+    }
+
+    // The shared response is always fetched in full: conditional headers are not forwarded, or one caller's
+    // 304 would be cached and handed to callers that have nothing to revalidate. The caller's If-None-Match
+    // is still honoured, Spring answers it with 304 against the ETag when the response entity is written.
+    private ResponseEntity<byte[]> cachedGet(RouteTable.Route route, String key, HttpHeaders headers, String clientAddress)
+            throws IOException, InterruptedException {
+        UpstreamResponse cached = responseCache.get(key);
+        if (cached != null) {
+            return cached.toResponseEntity("HIT");
+        }
+        HttpHeaders unconditional = new HttpHeaders();
+        unconditional.putAll(headers);
+        unconditional.remove(HttpHeaders.IF_NONE_MATCH);
+        unconditional.remove(HttpHeaders.IF_MODIFIED_SINCE);
+        RequestCoalescer.Result result = requestCoalescer.execute(key, () -> {
+            long generation = responseCache.generation();
+            UpstreamResponse response = upstreamClient.send(route, HttpMethod.GET, key, unconditional, null, clientAddress);
+            responseCache.put(key, response, generation);
+            return response;
+        });
+        return result.response().toResponseEntity(result.shared() ? "COALESCED" : "MISS");
+    }
+}
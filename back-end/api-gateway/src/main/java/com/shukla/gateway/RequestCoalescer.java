@@ -0,0 +1,66 @@
+package com.shukla.gateway;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+// Collapses concurrent identical requests into one upstream call: the first caller for a key runs it,
+// callers arriving while it is in flight wait for the same response (or the same failure) instead of
+// sending their own. Nothing is kept once the call finishes, ResponseCache does the remembering.
+// Used for the cacheable GETs, where every caller would get the same response anyway.
+@Component
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<UpstreamResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("gateway.requests.coalesced")
+                .description("Requests answered by another caller's in-flight upstream call")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("gateway.requests.in-flight", Tags.empty(), inFlight);
+    }
+
+    public Result execute(String key, UpstreamCall call) throws IOException, InterruptedException {
+        CompletableFuture<UpstreamResponse> mine = new CompletableFuture<>();
+        CompletableFuture<UpstreamResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            try {
+                UpstreamResponse response = call.send();
+                mine.complete(response);
+                return new Result(response, false);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        coalesced.increment();
+        try {
+            return new Result(running.get(), true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Coalesced upstream call failed", e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    public interface UpstreamCall {
+        UpstreamResponse send() throws IOException, InterruptedException;
+    }
+
+    // shared is true when the response came from another caller's call
+    public record Result(UpstreamResponse response, boolean shared) {
+    }
+}
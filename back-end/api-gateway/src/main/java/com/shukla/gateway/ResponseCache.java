@@ -0,0 +1,117 @@
+package com.shukla.gateway;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shared cache of GET responses for the read-mostly catalog paths in gateway.cache.paths, keyed by path and
+// query. Only those paths are cached and they must not depend on who is asking: one caller's response is
+// served to everyone. 200s are kept for ttl unless the service said no-store/private. Entries are purged
+// explicitly (CacheController) or when a write to the same service goes through the gateway; a purge also
+// discards loads that were already running, so a response fetched before the write is not stored after it.
+@Component
+public class ResponseCache {
+
+    public static final String CACHE_NAME = "gateway-responses";
+
+    private final Cache<String, UpstreamResponse> cache;
+    private final List<PathPattern> cacheablePaths;
+    // bumped by every purge, see generation() and put()
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.cache.paths:}") List<String> cacheablePaths,
+                         @Value("${gateway.cache.ttl:30s}") Duration ttl,
+                         @Value("${gateway.cache.max-size:10000}") long maxSize) {
+        this(meterRegistry, cacheablePaths, ttl, maxSize, Ticker.systemTicker());
+    }
+
+    ResponseCache(MeterRegistry meterRegistry, List<String> cacheablePaths, Duration ttl, long maxSize, Ticker ticker) {
+        this.cacheablePaths = cacheablePaths.stream()
+                .filter(path -> !path.isBlank())
+                .map(path -> PathPatternParser.defaultInstance.parse(path.trim()))
+                .toList();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isCacheable(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : cacheablePaths) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String key(String path, String query) {
+        return query == null ? path : path + "?" + query;
+    }
+
+    public UpstreamResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    // read before sending the request that put() stores
+    public long generation() {
+        return generation.get();
+    }
+
+    // false when the response is not cacheable or a purge ran since loadedAt was read
+    public boolean put(String key, UpstreamResponse response, long loadedAt) {
+        if (response.status() != 200 || !storable(response.headers())) {
+            return false;
+        }
+        cache.put(key, response);
+        if (generation.get() != loadedAt) {
+            cache.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    // every entry under pathPrefix (whole segments, any query); returns how many were dropped
+    public int purge(String pathPrefix) {
+        generation.incrementAndGet();
+        int before = cache.asMap().size();
+        cache.asMap().keySet().removeIf(key -> key.equals(pathPrefix)
+                || key.startsWith(pathPrefix + "/") || key.startsWith(pathPrefix + "?"));
+        return before - cache.asMap().size();
+    }
+
+    public void purgeAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static boolean storable(HttpHeaders headers) {
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+        return !cacheControl.contains("no-store") && !cacheControl.contains("private");
+    }
+}
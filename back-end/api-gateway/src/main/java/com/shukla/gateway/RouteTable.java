@@ -0,0 +1,71 @@
+package com.shukla.gateway;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Which service answers a path. Prefixes match whole segments (/api/salons covers /api/salons/7, not
+// /api/salonsX) and the longest one wins, so a more specific route can be added without reordering.
+@Component
+public class RouteTable {
+
+    private final List<Route> routes;
+
+    @Autowired
+    public RouteTable(@Value("${user-service.url}") String userService,
+                      @Value("${salon-service.url}") String salonService,
+                      @Value("${category-service.url}") String categoryService,
+                      @Value("${service-offering.url}") String serviceOffering,
+                      @Value("${booking-service.url}") String bookingService,
+                      @Value("${payment-service.url}") String paymentService) {
+        this(routes(userService, salonService, categoryService, serviceOffering, bookingService, paymentService));
+    }
+
+    RouteTable(Map<String, String> prefixToUrl) {
+        this.routes = prefixToUrl.entrySet().stream()
+                .map(entry -> new Route(entry.getKey(), stripTrailingSlash(entry.getValue())))
+                .sorted(Comparator.comparingInt((Route route) -> route.prefix().length()).reversed())
+                .toList();
+    }
+
+    // null when no service owns the path
+    public Route resolve(String path) {
+        for (Route route : routes) {
+            if (route.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> routes(String userService, String salonService, String categoryService,
+                                              String serviceOffering, String bookingService, String paymentService) {
+        Map<String, String> routes = new LinkedHashMap<>();
+        routes.put("/api/users", userService);
+        routes.put("/auth", userService);
+        routes.put("/api/salons", salonService);
+        routes.put("/api/categories", categoryService);
+        routes.put("/api/service-offering", serviceOffering);
+        routes.put("/api/bookings", bookingService);
+        routes.put("/api/payments", paymentService);
+        routes.put("/api/transactions", paymentService);
+        return routes;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public record Route(String prefix, String baseUrl) {
+
+        boolean matches(String path) {
+            return path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+        }
+    }
+}
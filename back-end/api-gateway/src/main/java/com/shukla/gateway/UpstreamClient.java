@@ -0,0 +1,103 @@
+package com.shukla.gateway;
+
+import com.shukla.logging.CorrelationIdFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Forwards a request to a service and buffers the answer. One java.net.http client is shared by all
+// requests: it keeps idle HTTP/1.1 connections per service open and reuses them (keep-alive), so a
+// forwarded call costs no TCP handshake once the pool is warm. Headers that describe this hop rather
+// than the request are dropped both ways; the correlation id is set from the MDC, not copied.
+@Component
+public class UpstreamClient {
+
+    // hop-by-hop headers, plus the ones java.net.http sets itself and refuses from callers
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "http2-settings", "host", "content-length", "expect", "date", "from", "via", "warning");
+
+    // Origin is dropped so the services' own CORS checks stay out of the way, CorsConfig answers for the
+    // gateway. Accept-Encoding is dropped so cached bodies are always identity encoded.
+    private static final Set<String> NOT_FORWARDED = Set.of(
+            "origin", "accept-encoding",
+            CorrelationIdFilter.HEADER.toLowerCase(Locale.ROOT), CorrelationIdFilter.SAMPLED_HEADER.toLowerCase(Locale.ROOT));
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public UpstreamClient(@Value("${gateway.upstream.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                          @Value("${gateway.upstream.request-timeout-ms:10000}") long requestTimeoutMillis) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+    }
+
+    // pathAndQuery is the raw, still encoded request target; HttpTimeoutException when the service is too slow
+    public UpstreamResponse send(RouteTable.Route route, HttpMethod method, String pathAndQuery,
+                                 HttpHeaders headers, byte[] body, String clientAddress)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null || body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(route.baseUrl() + pathAndQuery))
+                .timeout(requestTimeout)
+                .method(method.name(), publisher);
+
+        for (Map.Entry<String, List<String>> header : headers.headerSet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!HOP_BY_HOP.contains(name) && !NOT_FORWARDED.contains(name)) {
+                header.getValue().forEach(value -> request.header(header.getKey(), value));
+            }
+        }
+        if (clientAddress != null) {
+            String forwardedFor = headers.getFirst("X-Forwarded-For");
+            request.setHeader("X-Forwarded-For", forwardedFor == null ? clientAddress : forwardedFor + ", " + clientAddress);
+        }
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if (correlationId != null) {
+            request.setHeader(CorrelationIdFilter.HEADER, correlationId);
+            request.setHeader(CorrelationIdFilter.SAMPLED_HEADER,
+                    String.valueOf(MDC.get(CorrelationIdFilter.SAMPLED_MDC_KEY) != null));
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new UpstreamResponse(response.statusCode(), responseHeaders(response), response.body());
+    }
+
+    private static HttpHeaders responseHeaders(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            // the gateway answers CORS itself and sets its own correlation id header
+            if (!HOP_BY_HOP.contains(lower) && !lower.startsWith("access-control-")
+                    && !lower.equals(CorrelationIdFilter.HEADER.toLowerCase(Locale.ROOT))
+                    && !lower.startsWith(":")) {
+                headers.addAll(name, values);
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.close();
+    }
+}
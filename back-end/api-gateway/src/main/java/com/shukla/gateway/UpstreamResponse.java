@@ -0,0 +1,20 @@
+package com.shukla.gateway;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+// A buffered answer from a service: small JSON bodies, so holding them whole is cheaper than streaming
+// and lets one response be cached and handed to every coalesced caller
+public record UpstreamResponse(int status, HttpHeaders headers, byte[] body) {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    // cacheStatus is HIT, MISS or COALESCED
+    public ResponseEntity<byte[]> toResponseEntity(String cacheStatus) {
+        return ResponseEntity.status(status).headers(headers).header(CACHE_HEADER, cacheStatus).body(body);
+    }
+}
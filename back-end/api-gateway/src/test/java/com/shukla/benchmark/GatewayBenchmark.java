@@ -0,0 +1,171 @@
+package com.shukla.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shukla.ApiGatewayApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The gateway in front of stubbed services, against the same load sent to the stubs directly:
+//   - catalog: a featured-salon mix of /api/salons, /api/salons/{id}, /api/categories/salon/{id} and
+//     /api/service-offering/salon/{id} over a few salons, the paths the gateway caches and coalesces
+//   - passthrough: /api/bookings/salon/{id}, never cached, so this is the cost of the extra hop
+// Reports throughput, latency percentiles and how many calls reached the services, in target/benchmark/gateway.json.
+// Run: mvn -Pbenchmark test -Dtest=GatewayBenchmark
+// Tune with -Dgateway.requests, -Dgateway.concurrency, -Dgateway.salons, -Dgateway.upstream-latency-ms
+@Tag("benchmark")
+class GatewayBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("gateway.requests", 20000);
+    private static final int CONCURRENCY = Integer.getInteger("gateway.concurrency", 200);
+    private static final int SALONS = Integer.getInteger("gateway.salons", 5);
+    private static final int UPSTREAM_LATENCY_MS = Integer.getInteger("gateway.upstream-latency-ms", 20);
+
+    @Test
+    void gatewayInFrontOfStubs() throws Exception {
+        try (UpstreamStub upstream = UpstreamStub.start(UPSTREAM_LATENCY_MS)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "logging.level.root=WARN",
+                            "user-service.url=" + upstream.url(),
+                            "salon-service.url=" + upstream.url(),
+                            "category-service.url=" + upstream.url(),
+                            "service-offering.url=" + upstream.url(),
+                            "booking-service.url=" + upstream.url(),
+                            "payment-service.url=" + upstream.url())
+                    .run();
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(workers)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                String gateway = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("requests", REQUESTS);
+                report.put("concurrency", CONCURRENCY);
+                report.put("salons", SALONS);
+                report.put("upstreamLatencyMs", UPSTREAM_LATENCY_MS);
+                report.put("catalogDirect", run(workers, httpClient, upstream, upstream.url(), GatewayBenchmark::catalogPath));
+                Map<String, Object> catalogGateway = run(workers, httpClient, upstream, gateway, GatewayBenchmark::catalogPath);
+                report.put("catalogGateway", catalogGateway);
+                report.put("passthroughDirect", run(workers, httpClient, upstream, upstream.url(), GatewayBenchmark::bookingPath));
+                Map<String, Object> passthroughGateway = run(workers, httpClient, upstream, gateway, GatewayBenchmark::bookingPath);
+                report.put("passthroughGateway", passthroughGateway);
+
+                Path output = Path.of("target", "benchmark", "gateway.json");
+                Files.createDirectories(output.getParent());
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+                System.out.println("Gateway benchmark: " + report + " -> " + output.toAbsolutePath());
+
+                assertEquals(0, catalogGateway.get("errors"));
+                assertEquals(0, passthroughGateway.get("errors"));
+                assertEquals((long) REQUESTS, passthroughGateway.get("upstreamCalls"));
+                assertTrue((long) catalogGateway.get("upstreamCalls") < REQUESTS / 10,
+                        "cache and coalescing should keep most catalog reads off the services");
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private Map<String, Object> run(ExecutorService workers, HttpClient httpClient, UpstreamStub upstream,
+                                    String baseUrl, Supplier<String> paths) throws Exception {
+        long[] latencies = new long[REQUESTS];
+        Arrays.fill(latencies, -1);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        upstream.resetCalls();
+
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < CONCURRENCY; w++) {
+            futures.add(workers.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < REQUESTS) {
+                    latencies[i] = get(httpClient, baseUrl + paths.get(), errors);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("seconds", seconds);
+        result.put("requestsPerSecond", REQUESTS / seconds);
+        result.put("errors", errors.get());
+        result.put("upstreamCalls", upstream.calls());
+        result.put("p50Micros", percentile(sorted, 0.50));
+        result.put("p99Micros", percentile(sorted, 0.99));
+        result.put("p999Micros", percentile(sorted, 0.999));
+        return result;
+    }
+
+    // latency in micros, -1 if the request failed outright
+    private long get(HttpClient httpClient, String url, AtomicInteger errors) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                errors.incrementAndGet();
+            }
+            return (System.nanoTime() - start) / 1_000;
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            return -1;
+        }
+    }
+
+    private static String catalogPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int salonId = 1 + random.nextInt(SALONS);
+        return switch (random.nextInt(4)) {
+            case 0 -> "/api/salons";
+            case 1 -> "/api/salons/" + salonId;
+            case 2 -> "/api/categories/salon/" + salonId;
+            default -> "/api/service-offering/salon/" + salonId;
+        };
+    }
+
+    private static String bookingPath() {
+        return "/api/bookings/salon/" + (1 + ThreadLocalRandom.current().nextInt(SALONS));
+    }
+
+    private long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+    }
+}
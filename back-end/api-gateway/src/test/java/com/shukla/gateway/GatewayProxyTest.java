@@ -0,0 +1,244 @@
+package com.shukla.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every service is one local stub that echoes "<service> <method> <path?query> <body>" with ETag "v1" and records
+// the call; /api/salons/slow waits for the release latch so concurrent callers pile up behind one request
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "gateway.cache.paths=/api/salons,/api/salons/{id:[0-9]+},/api/salons/slow,/api/service-offering/salon/{id}")
+class GatewayProxyTest {
+
+    private static HttpServer stub;
+    private static final List<String> calls = new CopyOnWriteArrayList<>();
+    private static volatile CountDownLatch release = new CountDownLatch(0);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        for (String service : List.of("user", "salon", "category", "offering", "booking", "payment")) {
+            stub.createContext("/" + service, exchange -> echo(service, exchange));
+        }
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    // each service gets its own base path on the stub, so the echo shows where a request was routed
+    @DynamicPropertySource
+    static void services(DynamicPropertyRegistry registry) {
+        registry.add("user-service.url", () -> stubUrl() + "/user");
+        registry.add("salon-service.url", () -> stubUrl() + "/salon");
+        registry.add("category-service.url", () -> stubUrl() + "/category");
+        registry.add("service-offering.url", () -> stubUrl() + "/offering");
+        registry.add("booking-service.url", () -> stubUrl() + "/booking");
+        registry.add("payment-service.url", () -> stubUrl() + "/payment");
+    }
+
+    private static String stubUrl() {
+        return "http://localhost:" + stub.getAddress().getPort();
+    }
+
+    @BeforeEach
+    void reset() {
+        responseCache.purgeAll();
+        calls.clear();
+        release = new CountDownLatch(0);
+    }
+
+    @Test
+    void requestsAreRoutedByPrefixWithMethodQueryAndBody() throws Exception {
+        HttpResponse<String> booking = send(HttpRequest.newBuilder(uri("/api/bookings?salonId=3&customerId=9"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"serviceIds\":[1]}")));
+        HttpResponse<String> login = send(HttpRequest.newBuilder(uri("/auth/login"))
+                .POST(HttpRequest.BodyPublishers.ofString("{}")));
+        HttpResponse<String> transactions = send(HttpRequest.newBuilder(uri("/api/transactions/salon/3")).GET());
+
+        assertEquals("booking POST /booking/api/bookings?salonId=3&customerId=9 {\"serviceIds\":[1]}", booking.body());
+        assertEquals("user POST /user/auth/login {}", login.body());
+        assertEquals("payment GET /payment/api/transactions/salon/3 ", transactions.body());
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/api/unknown")).GET()).statusCode());
+    }
+
+    @Test
+    void cacheableGetsAreServedFromCacheUntilPurged() throws Exception {
+        HttpResponse<String> first = get("/api/service-offering/salon/4?categoryId=2");
+        HttpResponse<String> second = get("/api/service-offering/salon/4?categoryId=2");
+        HttpResponse<String> otherQuery = get("/api/service-offering/salon/4");
+
+        assertEquals("MISS", first.headers().firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+        assertEquals("HIT", second.headers().firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+        assertEquals(first.body(), second.body());
+        assertEquals("MISS", otherQuery.headers().firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+
+        send(HttpRequest.newBuilder(uri("/gateway/cache?path=/api/service-offering")).DELETE());
+        get("/api/service-offering/salon/4?categoryId=2");
+
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void otherGetsAreNotCached() throws Exception {
+        HttpResponse<String> first = get("/api/salons/search?city=Pune");
+        get("/api/salons/search?city=Pune");
+
+        assertNull(first.headers().firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void writeToAServicePurgesItsCachedResponses() throws Exception {
+        get("/api/salons/7");
+        get("/api/service-offering/salon/7");
+
+        send(HttpRequest.newBuilder(uri("/api/salons/7"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"name\":\"New\"}")));
+
+        assertEquals("MISS", get("/api/salons/7").headers().firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+        assertEquals("HIT", get("/api/service-offering/salon/7").headers()
+                .firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneUpstreamCall() throws Exception {
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                responses.add(executor.submit(() -> get("/api/salons/slow")));
+            }
+            // let the callers reach the gateway before the single upstream call returns
+            Thread.sleep(500);
+            release.countDown();
+
+            for (Future<HttpResponse<String>> response : responses) {
+                HttpResponse<String> result = response.get(10, TimeUnit.SECONDS);
+                assertEquals(200, result.statusCode());
+                assertEquals("salon GET /salon/api/salons/slow ", result.body());
+            }
+            assertEquals(1, calls.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void conditionalGetOnCachedPathIsAnsweredByTheGateway() throws Exception {
+        HttpResponse<String> revalidated = send(HttpRequest.newBuilder(uri("/api/salons/7"))
+                .header("If-None-Match", "\"v1\"").GET());
+        HttpResponse<String> fresh = get("/api/salons/7");
+
+        assertEquals(304, revalidated.statusCode());
+        assertEquals("", revalidated.body());
+        assertEquals(200, fresh.statusCode());
+        assertEquals("HIT", fresh.headers().firstValue(UpstreamResponse.CACHE_HEADER).orElse(null));
+        assertEquals("salon GET /salon/api/salons/7 ", fresh.body());
+        // the one upstream call was unconditional, so the cached response has a body
+        assertEquals(1, calls.size());
+        assertTrue(calls.getFirst().contains("inm=null"), calls.getFirst());
+    }
+
+    @Test
+    void correlationIdIsForwarded() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/users/1"))
+                .header("X-Correlation-Id", "gw-test-1").GET());
+
+        assertEquals("gw-test-1", response.headers().firstValue("X-Correlation-Id").orElse(null));
+        assertTrue(calls.getFirst().endsWith("cid=gw-test-1"), calls.getFirst());
+    }
+
+    @Test
+    void unreachableServiceFailsTheCall() {
+        RouteTable routes = new RouteTable(Map.of("/api", "http://localhost:1"));
+        UpstreamClient client = new UpstreamClient(500, 1000);
+        try {
+            assertThrows(IOException.class, () -> client.send(routes.resolve("/api/x"), HttpMethod.GET, "/api/x",
+                    new HttpHeaders(), null, null));
+        } finally {
+            client.close();
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    private static void echo(String service, HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        String target = uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        calls.add(service + " " + exchange.getRequestMethod() + " " + target
+                + " inm=" + exchange.getRequestHeaders().getFirst("If-None-Match")
+                + " cid=" + exchange.getRequestHeaders().getFirst("X-Correlation-Id"));
+        if (target.endsWith("/slow")) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        byte[] bytes = (service + " " + exchange.getRequestMethod() + " " + target + " " + requestBody)
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.getResponseHeaders().add("ETag", "\"v1\"");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
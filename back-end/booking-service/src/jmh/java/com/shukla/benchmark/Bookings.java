@@ -0,0 +1,46 @@
+package com.shukla.benchmark;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Synthetic booking history: one 30 minute booking per hour, 09:00 - 20:30, every 10th one cancelled
+final class Bookings {
+
+    static final LocalDateTime FIRST_DAY = LocalDateTime.of(2025, 1, 1, 0, 0);
+    static final int PER_DAY = 12;
+
+    private Bookings() {
+    }
+
+    static List<Booking> forSalon(Long salonId, int count, boolean withServiceIds) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime startTime = slot(i);
+
+            Booking booking = new Booking();
+            booking.setId((long) i + 1);
+            booking.setSalonId(salonId);
+            booking.setCustomerId((long) (i % 5000));
+            booking.setStartTime(startTime);
+            booking.setEndTime(startTime.plusMinutes(30));
+            booking.setStatus(i % 10 == 0 ? BookingStatus.CANCELLED : BookingStatus.CONFIRMED);
+            booking.setTotalPrice(300 + (i % 7) * 50);
+            if (withServiceIds) {
+                booking.setServiceIds(new HashSet<>(Set.of(1L, 2L + i % 5, 10L + i % 3)));
+            }
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    // start of the i-th booking
+    static LocalDateTime slot(int i) {
+        return FIRST_DAY.plusDays(i / PER_DAY).plusHours(9 + i % PER_DAY);
+    }
+}
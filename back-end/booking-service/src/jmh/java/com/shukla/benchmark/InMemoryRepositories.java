@@ -0,0 +1,136 @@
+package com.shukla.benchmark;
+
+import com.shukla.concurrent.SalonBookingLock;
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingIntervalDTO;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonReportAggregate;
+import com.shukla.repository.ArchivedBookingRepository;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonReportAggregateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// List/map backed stand-ins for the JPA repositories, so benchmarks measure service code and not a database.
+// Only the methods the benchmarked paths call are implemented.
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static BookingRepository bookings(List<Booking> bookings) {
+        return proxy(BookingRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findBySalonId" -> bookings.stream()
+                    .filter(booking -> booking.getSalonId().equals(args[0]))
+                    .toList();
+            case "findOverlappingBookings" -> findOverlapping(bookings, (Long) args[0],
+                    (LocalDateTime) args[1], (LocalDateTime) args[2]);
+            case "findActiveIntervals" -> bookings.stream()
+                    .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                    .map(booking -> new BookingIntervalDTO(booking.getId(), booking.getSalonId(),
+                            booking.getStartTime(), booking.getEndTime()))
+                    .toList();
+            case "computeReportTotals" -> reportTotals(bookings, (Long) args[0]);
+            default -> {
+                if (method.isDefault()) {
+                    yield InvocationHandler.invokeDefault(proxy, method, args);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    static SalonReportAggregateRepository aggregates() {
+        Map<Long, SalonReportAggregate> rows = new ConcurrentHashMap<>();
+        return proxy(SalonReportAggregateRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(rows.get((Long) args[0]));
+            case "save" -> {
+                SalonReportAggregate aggregate = (SalonReportAggregate) args[0];
+                rows.put(aggregate.getSalonId(), aggregate);
+                yield aggregate;
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    // nothing archived yet
+    static ArchivedBookingRepository emptyArchive() {
+        return proxy(ArchivedBookingRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "computeReportTotals" -> null;
+            case "findBySalonId", "findByCustomerId" -> List.of();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static SalonBookingLock salonBookingLock() {
+        return new SalonBookingLock(new SimpleMeterRegistry(), new NoOpTransactionManager(), 256, 5000);
+    }
+
+    private static List<Booking> findOverlapping(List<Booking> bookings, Long salonId,
+                                                 LocalDateTime startTime, LocalDateTime endTime) {
+        List<Booking> overlapping = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (booking.getSalonId().equals(salonId)
+                    && !booking.getStartTime().isAfter(endTime)
+                    && !booking.getEndTime().isBefore(startTime)
+                    && booking.getStatus() != BookingStatus.CANCELLED) {
+                overlapping.add(booking);
+            }
+        }
+        return overlapping;
+    }
+
+    private static SalonReportAggregate reportTotals(List<Booking> bookings, Long salonId) {
+        SalonReportAggregate totals = new SalonReportAggregate(salonId, 0L, 0L, 0L, 0L);
+        for (Booking booking : bookings) {
+            if (!booking.getSalonId().equals(salonId)) {
+                continue;
+            }
+            totals.setTotalBookings(totals.getTotalBookings() + 1);
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                totals.setCancelBookings(totals.getCancelBookings() + 1);
+                totals.setTotalRefund(totals.getTotalRefund() + booking.getTotalPrice());
+            } else {
+                totals.setTotalEarnings(totals.getTotalEarnings() + booking.getTotalPrice());
+            }
+        }
+        return totals;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    // SalonBookingLock wraps work in a TransactionTemplate; there is nothing to commit here
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
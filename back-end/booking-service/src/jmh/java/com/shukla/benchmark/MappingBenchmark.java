@@ -0,0 +1,65 @@
+package com.shukla.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.dto.BookingDTO;
+import com.shukla.dto.BookingSlotDTO;
+import com.shukla.mapper.BookingMapper;
+import com.shukla.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BookingMapper.toDTO and the JSON the list and slot endpoints write
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private Booking booking;
+    private List<BookingDTO> bookingDTOs;
+    private List<BookingSlotDTO> slotDTOs;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        List<Booking> bookings = Bookings.forSalon(1L, size, true);
+        booking = bookings.get(0);
+        bookingDTOs = bookings.stream().map(BookingMapper::toDTO).toList();
+        slotDTOs = bookings.stream().map(b -> {
+            BookingSlotDTO slotDTO = new BookingSlotDTO();
+            slotDTO.setStartTime(b.getStartTime());
+            slotDTO.setEndTime(b.getEndTime());
+            return slotDTO;
+        }).toList();
+
+        // same defaults as Spring Boot's ObjectMapper (java.time support, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public BookingDTO toDTO() {
+        return BookingMapper.toDTO(booking);
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws Exception {
+        return objectMapper.writeValueAsBytes(bookingDTOs);
+    }
+
+    @Benchmark
+    public byte[] serializeSlots() throws Exception {
+        return objectMapper.writeValueAsBytes(slotDTOs);
+    }
+}
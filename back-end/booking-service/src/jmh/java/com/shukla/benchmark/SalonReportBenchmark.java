@@ -0,0 +1,74 @@
+package com.shukla.benchmark;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonReport;
+import com.shukla.repository.BookingRepository;
+import com.shukla.service.impl.BookingServiceImpl;
+import com.shukla.service.impl.SalonReportServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// getSalonReport served from the maintained counters, next to the full recompute it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SalonReportBenchmark {
+
+    private static final Long SALON_ID = 1L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private BookingRepository bookingRepository;
+    private BookingServiceImpl bookingService;
+
+    @Setup
+    public void setUp() throws Exception {
+        bookingRepository = InMemoryRepositories.bookings(Bookings.forSalon(SALON_ID, bookings, false));
+        SalonReportServiceImpl salonReportService = new SalonReportServiceImpl(
+                InMemoryRepositories.aggregates(), bookingRepository, InMemoryRepositories.emptyArchive(),
+                InMemoryRepositories.salonBookingLock());
+        bookingService = new BookingServiceImpl(bookingRepository, null, null, salonReportService, null, null, null, null, null, null, null, null);
+
+        // first read seeds the counters
+        bookingService.getSalonReport(SALON_ID);
+    }
+
+    @Benchmark
+    public SalonReport counters() throws Exception {
+        return bookingService.getSalonReport(SALON_ID);
+    }
+
+    // the pre-counter implementation: load every booking of the salon and sum in memory
+    @Benchmark
+    public SalonReport recompute() {
+        List<Booking> salonBookings = bookingRepository.findBySalonId(SALON_ID);
+
+        double totalEarnings = salonBookings.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED ||
+                        booking.getStatus() == BookingStatus.PENDING)
+                .mapToDouble(Booking::getTotalPrice)
+                .sum();
+        List<Booking> cancelledBookings = salonBookings.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.CANCELLED)
+                .toList();
+
+        SalonReport report = new SalonReport();
+        report.setSalonId(SALON_ID);
+        report.setTotalBookings(salonBookings.size());
+        report.setCancelBookings(cancelledBookings.size());
+        report.setTotalEarnings(totalEarnings);
+        report.setTotalRefund(cancelledBookings.stream().mapToDouble(Booking::getTotalPrice).sum());
+        return report;
+    }
+}
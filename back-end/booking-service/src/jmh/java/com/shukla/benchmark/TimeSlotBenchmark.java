@@ -0,0 +1,82 @@
+package com.shukla.benchmark;
+
+import com.shukla.dto.SalonDTO;
+import com.shukla.hold.SlotHoldRegistry;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import com.shukla.service.impl.BookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// isTimeSlotAvailable on the interval index and on the overlap query fallback (a scan of the in-memory table)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeSlotBenchmark {
+
+    private static final Long SALON_ID = 1L;
+
+    @Param({"100", "10000"})
+    public int bookings;
+
+    @Param({"true", "false"})
+    public boolean intervalIndex;
+
+    private BookingServiceImpl bookingService;
+    private SalonDTO salon;
+
+    @Setup
+    public void setUp() {
+        List<Booking> history = Bookings.forSalon(SALON_ID, bookings, false);
+        BookingRepository bookingRepository = InMemoryRepositories.bookings(history);
+
+        SalonIntervalIndex salonIntervalIndex = new SalonIntervalIndex(bookingRepository);
+        ReflectionTestUtils.setField(salonIntervalIndex, "enabled", intervalIndex);
+        salonIntervalIndex.init();
+
+        // no open holds, the check still looks for them
+        SlotHoldRegistry slotHoldRegistry = new SlotHoldRegistry(new SimpleMeterRegistry(), Duration.ofMinutes(10), 1000, 512);
+
+        bookingService = new BookingServiceImpl(bookingRepository, salonIntervalIndex, null, null, null, null,
+                null, null, null, slotHoldRegistry, null, new SimpleMeterRegistry());
+
+        salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+    }
+
+    // 35 - 55 minutes past a booked hour, between two bookings
+    @Benchmark
+    public Boolean freeSlot() throws Exception {
+        LocalDateTime start = Bookings.slot(ThreadLocalRandom.current().nextInt(bookings)).plusMinutes(35);
+        return bookingService.isTimeSlotAvailable(salon, start, start.plusMinutes(20));
+    }
+
+    // rejected with the conflict exception, as a taken slot is in production
+    @Benchmark
+    public boolean takenSlot() {
+        LocalDateTime start = Bookings.slot(ThreadLocalRandom.current().nextInt(bookings)).plusMinutes(10);
+        try {
+            return bookingService.isTimeSlotAvailable(salon, start, start.plusMinutes(20));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
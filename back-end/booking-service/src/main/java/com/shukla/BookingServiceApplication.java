@@ -1,13 +1,35 @@
 package com.shukla;
 
+import com.shukla.logging.CorrelationIdInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
+@EnableScheduling
 public class BookingServiceApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(BookingServiceApplication.class, args);
 	}
 
+	@Bean
+	public RestTemplate restTemplate(ObjectProvider<RestTemplateBuilder> builderProvider) {
+		// bounded so a slow downstream service cannot hold booking requests indefinitely
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(2000);
+		requestFactory.setReadTimeout(5000);
+		// built through the builder so calls are timed as http.client.requests; test slices such as
+		// @DataJpaTest have no auto-configured builder and get a plain one
+		RestTemplateBuilder builder = builderProvider.getIfAvailable(RestTemplateBuilder::new);
+		return builder.requestFactory(() -> requestFactory)
+				.additionalInterceptors(new CorrelationIdInterceptor())
+				.build();
+	}
+
 }
@@ -0,0 +1,110 @@
+package com.shukla.archive;
+
+import com.shukla.concurrent.SalonBookingLock;
+import com.shukla.dto.BookingIntervalDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.ArchivedBooking;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves bookings that ended before the horizon from the booking table to archived_booking, so the
+// hot table (overlap checks, listings, interval index startup) only holds recent and upcoming bookings.
+// Only CONFIRMED and CANCELLED bookings move: a PENDING one still waits for its payment callback, which
+// updates it in the live table, so it stays there however old it is.
+// Walks the candidates by (end_time, id) in batches; each salon's share of a batch is copied and
+// deleted in one short transaction under that salon's booking lock, so it cannot race a status update.
+@Component
+@Slf4j
+public class BookingArchiver {
+
+    private final BookingRepository bookingRepository;
+    private final SalonIntervalIndex salonIntervalIndex;
+    private final SalonBookingLock salonBookingLock;
+    private final EntityManager entityManager;
+    private final int horizonDays;
+    private final int batchSize;
+    private final Counter archivedCounter;
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           SalonIntervalIndex salonIntervalIndex,
+                           SalonBookingLock salonBookingLock,
+                           EntityManager entityManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.archive.horizon-days:180}") int horizonDays,
+                           @Value("${booking.archive.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.salonIntervalIndex = salonIntervalIndex;
+        this.salonBookingLock = salonBookingLock;
+        this.entityManager = entityManager;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.archivedCounter = meterRegistry.counter("booking.archive.archived");
+    }
+
+    @Scheduled(cron = "${booking.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        try {
+            int archived = archiveBefore(defaultCutoff());
+            log.info("booking archive run archived={} horizonDays={}", archived, horizonDays);
+        } catch (Exception e) {
+            log.error("booking archive run failed error={}", e.getMessage(), e);
+        }
+    }
+
+    public LocalDateTime defaultCutoff() {
+        return LocalDateTime.now().minusDays(horizonDays);
+    }
+
+    // Returns how many bookings were moved
+    public synchronized int archiveBefore(LocalDateTime cutoff) throws Exception {
+        int archived = 0;
+        List<BookingIntervalDTO> batch = bookingRepository.findArchivable(cutoff, Limit.of(batchSize));
+        while (!batch.isEmpty()) {
+            Map<Long, List<Long>> idsBySalon = new LinkedHashMap<>();
+            for (BookingIntervalDTO candidate : batch) {
+                idsBySalon.computeIfAbsent(candidate.getSalonId(), salonId -> new ArrayList<>()).add(candidate.getId());
+            }
+            for (Map.Entry<Long, List<Long>> entry : idsBySalon.entrySet()) {
+                archived += archiveSalon(entry.getKey(), entry.getValue());
+            }
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            // moved rows are gone, the cursor only matters for rows another writer kept in place
+            BookingIntervalDTO last = batch.get(batch.size() - 1);
+            batch = bookingRepository.findArchivableAfter(cutoff, last.getEndTime(), last.getId(), Limit.of(batchSize));
+        }
+        return archived;
+    }
+
+    private int archiveSalon(Long salonId, List<Long> ids) throws Exception {
+        int moved = salonBookingLock.runLockedInTransaction(salonId, () -> {
+            LocalDateTime archivedAt = LocalDateTime.now();
+            List<Booking> bookings = bookingRepository.findWithServiceIdsByIdIn(ids);
+            for (Booking booking : bookings) {
+                // persist, not save: the id is already set, so save would select before every insert
+                entityManager.persist(ArchivedBooking.from(booking, archivedAt));
+                salonIntervalIndex.onBookingRemoved(booking);
+            }
+            bookingRepository.deleteAll(bookings);
+            return bookings.size();
+        });
+        archivedCounter.increment(moved);
+        return moved;
+    }
+}
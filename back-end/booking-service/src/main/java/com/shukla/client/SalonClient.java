@@ -0,0 +1,138 @@
+package com.shukla.client;
+
+import com.shukla.dto.SalonDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Near-cache of salon metadata (opening hours) from salon-service, so booking requests never wait on it.
+// Loaded at startup, refreshed when salon-service reports a change and on a fixed delay in case a report is lost.
+// A failed refresh keeps the last known value; only a salon that was never loaded needs salon-service to be up.
+// Every load takes a ticket before its request and a cached salon is only replaced by a later ticket, so a slow
+// full refresh cannot undo a single-salon refresh that ran meanwhile. A full refresh drops the salons
+// salon-service no longer lists, unless they were loaded after the list was requested.
+@Component
+@Slf4j
+public class SalonClient {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final Map<Long, Cached> salons = new ConcurrentHashMap<>();
+    private final AtomicLong tickets = new AtomicLong();
+
+    private record Cached(SalonDTO salon, long ticket) {
+    }
+
+    public SalonClient(RestTemplate restTemplate,
+                       @Value("${salon-service.url:http://localhost:5002}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+    }
+
+    @PostConstruct
+    public void warm() {
+        refreshAll();
+    }
+
+    @Scheduled(fixedDelayString = "${salon-service.refresh-ms:300000}",
+            initialDelayString = "${salon-service.refresh-ms:300000}")
+    public void refreshAll() {
+        long ticket = tickets.incrementAndGet();
+        try {
+            SalonDTO[] all = restTemplate.getForObject(baseUrl + "/api/salons", SalonDTO[].class);
+            if (all != null) {
+                Set<Long> listed = new HashSet<>();
+                for (SalonDTO salon : all) {
+                    listed.add(salon.getId());
+                    put(salon, ticket);
+                }
+                for (Map.Entry<Long, Cached> entry : salons.entrySet()) {
+                    if (!listed.contains(entry.getKey()) && entry.getValue().ticket() < ticket) {
+                        salons.remove(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("salon list load failed keptCached={} error={}", salons.size(), e.getMessage());
+        }
+    }
+
+    public SalonDTO getSalon(Long salonId) throws Exception {
+        Cached cached = salons.get(salonId);
+        if (cached != null) {
+            return cached.salon();
+        }
+        try {
+            return load(salonId);
+        } catch (Exception e) {
+            throw new Exception("Could not load salon " + salonId + " from salon-service: " + e.getMessage());
+        }
+    }
+
+    // Cached salons come from the near-cache, the rest from one /list/{ids} call and are cached too.
+    // Ids salon-service does not know are left out of the result.
+    public Map<Long, SalonDTO> getSalonsByIds(Set<Long> salonIds) {
+        Map<Long, SalonDTO> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long salonId : salonIds) {
+            Cached cached = salons.get(salonId);
+            if (cached != null) {
+                result.put(salonId, cached.salon());
+            } else {
+                missing.add(salonId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            String idList = missing.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            long ticket = tickets.incrementAndGet();
+            SalonDTO[] loaded = restTemplate.getForObject(baseUrl + "/api/salons/list/" + idList, SalonDTO[].class);
+            if (loaded != null) {
+                for (SalonDTO salon : loaded) {
+                    put(salon, ticket);
+                    result.put(salon.getId(), salon);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Called when salon-service reports a change; the old value stays if salon-service cannot be reached
+    public void refresh(Long salonId) {
+        try {
+            load(salonId);
+        } catch (Exception e) {
+            log.warn("salon refresh failed salonId={} keptLastKnown=true error={}", salonId, e.getMessage());
+        }
+    }
+
+    private SalonDTO load(Long salonId) {
+        long ticket = tickets.incrementAndGet();
+        SalonDTO salon = restTemplate.getForObject(baseUrl + "/api/salons/" + salonId, SalonDTO.class);
+        if (salon == null) {
+            throw new IllegalStateException("empty response");
+        }
+        put(salon, ticket);
+        return salon;
+    }
+
+    // keeps whichever value was requested last
+    private void put(SalonDTO salon, long ticket) {
+        salons.merge(salon.getId(), new Cached(salon, ticket),
+                (current, loaded) -> loaded.ticket() > current.ticket() ? loaded : current);
+    }
+}
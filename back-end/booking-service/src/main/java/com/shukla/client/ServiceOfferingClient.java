@@ -0,0 +1,105 @@
+package com.shukla.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.shukla.dto.ServiceDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Resolves service price and duration from service-offering.
+// Cached per id with TTL and size bounds; all misses of one lookup go out as a single /list/{ids} call.
+// service-offering calls evict() through /api/bookings/cache/services/{id} when a service is updated,
+// the TTL bounds how stale an entry can get if that call is lost.
+@Component
+public class ServiceOfferingClient {
+
+    public static final String CACHE_NAME = "service-offering";
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final Cache<Long, ServiceDTO> cache;
+
+    @Autowired
+    public ServiceOfferingClient(RestTemplate restTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${service-offering.url:http://localhost:5004}") String baseUrl,
+                                 @Value("${service-offering.cache.ttl:10m}") Duration ttl,
+                                 @Value("${service-offering.cache.max-size:10000}") long maxSize) {
+        this(restTemplate, meterRegistry, baseUrl, ttl, maxSize, Ticker.systemTicker());
+    }
+
+    ServiceOfferingClient(RestTemplate restTemplate,
+                          MeterRegistry meterRegistry,
+                          String baseUrl,
+                          Duration ttl,
+                          long maxSize,
+                          Ticker ticker) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size tagged cache=service-offering
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Set<ServiceDTO> getServicesByIds(Set<Long> ids) throws Exception {
+        Map<Long, ServiceDTO> services;
+        try {
+            services = cache.getAll(ids, this::fetch);
+        } catch (RuntimeException e) {
+            throw new Exception("Could not load services from service-offering: " + e.getMessage());
+        }
+
+        for (Long id : ids) {
+            if (!services.containsKey(id)) {
+                throw new Exception("Service not found with id: " + id);
+            }
+        }
+        return new HashSet<>(services.values());
+    }
+
+    // Lenient lookup for display: unknown ids are left out instead of failing the whole call
+    public Map<Long, ServiceDTO> findServicesByIds(Set<Long> ids) {
+        return cache.getAll(ids, this::fetch);
+    }
+
+    public void evict(Long serviceId) {
+        cache.invalidate(serviceId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    // Unknown ids are left out of the result, so they are not cached either
+    private Map<Long, ServiceDTO> fetch(Set<? extends Long> ids) {
+        String idList = ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        ServiceDTO[] services = restTemplate.getForObject(
+                baseUrl + "/api/service-offering/list/" + idList, ServiceDTO[].class);
+
+        if (services == null) {
+            return Map.of();
+        }
+        return Arrays.stream(services)
+                .collect(Collectors.toMap(ServiceDTO::getId, Function.identity()));
+    }
+}
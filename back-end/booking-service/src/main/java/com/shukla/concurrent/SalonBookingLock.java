@@ -0,0 +1,78 @@
+package com.shukla.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+// Serializes booking writes per salon (check + insert) while different salons run in parallel.
+// Only covers this JVM, so every booking-service instance must own a disjoint set of salons.
+@Component
+public class SalonBookingLock {
+
+    private final StripedLock stripes;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalonBookingLock(MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${booking.lock.stripes:256}") int stripes,
+                            @Value("${booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new StripedLock(stripes);
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("booking.lock.wait")
+                .description("Time spent waiting for the per-salon booking lock")
+                .register(meterRegistry);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T runLocked(Long salonId, Callable<T> action) throws Exception {
+        Lock lock = stripes.get(salonId);
+
+        long startNanos = System.nanoTime();
+        boolean acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            throw new Exception("Salon is busy right now. Please try again.");
+        }
+        try {
+            return action.call();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The transaction commits before the lock is released, so the next writer sees its rows
+    public <T> T runLockedInTransaction(Long salonId, Callable<T> action) throws Exception {
+        return runLocked(salonId, () -> {
+            try {
+                return transactionTemplate.execute(status -> {
+                    try {
+                        return action.call();
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CheckedException(e);
+                    }
+                });
+            } catch (CheckedException e) {
+                throw (Exception) e.getCause();
+            }
+        });
+    }
+
+    // Carries a checked exception out of the transaction callback, still rolling it back
+    private static class CheckedException extends RuntimeException {
+        CheckedException(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -1,106 +1,286 @@
 package com.shukla.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.archive.BookingArchiver;
+import com.shukla.client.SalonClient;
+import com.shukla.client.ServiceOfferingClient;
 import com.shukla.domain.BookingStatus;
+import com.shukla.hold.SlotHold;
+import com.shukla.idempotency.IdempotencyStore;
 import com.shukla.dto.*;
 import com.shukla.mapper.BookingMapper;
 import com.shukla.model.Booking;
 import com.shukla.model.SalonReport;
+import com.shukla.model.WaitlistEntry;
+import com.shukla.service.BookingHistoryService;
 import com.shukla.service.BookingService;
+import com.shukla.service.SalonReportService;
+import com.shukla.service.SalonRollupService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-@CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
+@Slf4j
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingHistoryService bookingHistoryService;
+    private final SalonReportService salonReportService;
+    private final SalonRollupService salonRollupService;
+    private final ObjectMapper objectMapper;
+    private final ServiceOfferingClient serviceOfferingClient;
+    private final SalonClient salonClient;
+    private final BookingArchiver bookingArchiver;
+    private final IdempotencyStore idempotencyStore;
 
+    // A retried request with the same Idempotency-Key gets the first response back instead of a second booking
     @PostMapping
     public ResponseEntity<?> createBooking(
             @RequestParam Long salonId,
             @RequestParam Long customerId, // ✅ FIXED: Accept customerId as parameter
-            @RequestBody BookingRequest bookingRequest
+            @RequestBody BookingRequest bookingRequest,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey
     ) {
+        return idempotencyStore.execute(idempotencyKey,
+                fingerprint(salonId, customerId, bookingRequest),
+                () -> doCreateBooking(salonId, customerId, bookingRequest));
+    }
+
+    // Named fields with the service ids sorted, not BookingRequest.toString(): a retry must match however its
+    // set iterates, and a field added to the DTO must not change every stored fingerprint
+    static String fingerprint(Long salonId, Long customerId, BookingRequest bookingRequest) {
+        List<Long> serviceIds = bookingRequest.getServiceIds() == null
+                ? List.of()
+                : bookingRequest.getServiceIds().stream().sorted().toList();
+        return "salon=" + salonId + "|customer=" + customerId
+                + "|start=" + bookingRequest.getStartTime() + "|end=" + bookingRequest.getEndTime()
+                + "|services=" + serviceIds;
+    }
+
+    private ResponseEntity<?> doCreateBooking(Long salonId, Long customerId, BookingRequest bookingRequest) {
         try {
-            System.out.println("🚀 Creating booking for salon: " + salonId + ", customer: " + customerId);
-            System.out.println("📝 Booking request: " + bookingRequest);
+            log.debug("booking create requested salonId={} customerId={} request={}", salonId, customerId, bookingRequest);
 
             // ✅ FIXED: Use the provided customerId instead of hardcoded value
             UserDTO user = new UserDTO();
             user.setId(customerId);
 
-            SalonDTO salon = new SalonDTO();
-            salon.setId(salonId);
-            salon.setOpenTime(LocalTime.of(9, 0));
-            salon.setCloseTime(LocalTime.of(21, 0));
-
-            // ✅ ENHANCED: Create services from request serviceIds if provided
-            Set<ServiceDTO> serviceDTOSet = new HashSet<>();
-
-            if (bookingRequest.getServiceIds() != null && !bookingRequest.getServiceIds().isEmpty()) {
-                // Use the provided service IDs (you might want to fetch actual service details from service-offering microservice)
-                for (Long serviceId : bookingRequest.getServiceIds()) {
-                    ServiceDTO serviceDTO = new ServiceDTO();
-                    serviceDTO.setId(serviceId);
-                    serviceDTO.setPrice(399); // TODO: Fetch actual price from service-offering microservice
-                    serviceDTO.setDuration(45); // TODO: Fetch actual duration
-                    serviceDTO.setName("Service #" + serviceId); // TODO: Fetch actual name
-                    serviceDTOSet.add(serviceDTO);
-                }
-            } else {
-                // Fallback to default service
-                ServiceDTO serviceDTO = new ServiceDTO();
-                serviceDTO.setId(1L);
-                serviceDTO.setPrice(399);
-                serviceDTO.setDuration(45);
-                serviceDTO.setName("Hair cut for men");
-                serviceDTOSet.add(serviceDTO);
-            }
+            SalonDTO salon = salonClient.getSalon(salonId);
+
+            // Real price and duration from service-offering, one batched call for whatever is not cached
+            Set<Long> serviceIds = bookingRequest.getServiceIds() != null && !bookingRequest.getServiceIds().isEmpty()
+                    ? new HashSet<>(bookingRequest.getServiceIds())
+                    : Set.of(1L); // Fallback to default service
+            Set<ServiceDTO> serviceDTOSet = serviceOfferingClient.getServicesByIds(serviceIds);
 
             Booking booking = bookingService.createBooking(bookingRequest, user, salon, serviceDTOSet);
 
-            System.out.println("✅ Booking created successfully: " + booking);
+            log.info("booking created bookingId={} salonId={} customerId={} start={}",
+                    booking.getId(), salonId, customerId, booking.getStartTime());
 
             return ResponseEntity.ok(booking);
 
         } catch (Exception e) {
-            System.err.println("❌ Error creating booking: " + e.getMessage());
+            log.warn("booking create rejected salonId={} customerId={} error={}", salonId, customerId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    // Reserve a slot for booking.hold.ttl while the customer checks out; nothing is stored until confirm
+    @PostMapping("/holds")
+    public ResponseEntity<?> holdSlot(
+            @RequestParam Long salonId,
+            @RequestParam Long customerId,
+            @RequestBody BookingRequest bookingRequest
+    ) {
+        try {
+            Set<ServiceDTO> serviceDTOSet = requestedServices(bookingRequest);
+
+            UserDTO user = new UserDTO();
+            user.setId(customerId);
+
+            SalonDTO salon = salonClient.getSalon(salonId);
+
+            SlotHold hold = bookingService.holdSlot(bookingRequest, user, salon, serviceDTOSet);
+            return ResponseEntity.ok(hold);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Holds and waitlist entries must name their services; only createBooking keeps the old default service
+    private Set<ServiceDTO> requestedServices(BookingRequest bookingRequest) throws Exception {
+        if (bookingRequest.getServiceIds() == null || bookingRequest.getServiceIds().isEmpty()) {
+            throw new Exception("serviceIds is required");
+        }
+        return serviceOfferingClient.getServicesByIds(new HashSet<>(bookingRequest.getServiceIds()));
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<?> confirmHold(@PathVariable String holdId) {
+        try {
+            Booking booking = bookingService.confirmHold(holdId);
+            return ResponseEntity.ok(booking);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId) {
+        try {
+            bookingService.releaseHold(holdId);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Instead of retrying a taken slot: queue for it and get booked when a cancellation frees it.
+    // The promotion is published as a PROMOTED_FROM_WAITLIST booking event.
+    @PostMapping("/waitlist")
+    public ResponseEntity<?> joinWaitlist(
+            @RequestParam Long salonId,
+            @RequestParam Long customerId,
+            @RequestBody BookingRequest bookingRequest
+    ) {
+        try {
+            Set<ServiceDTO> serviceDTOSet = requestedServices(bookingRequest);
+
+            UserDTO user = new UserDTO();
+            user.setId(customerId);
+
+            SalonDTO salon = salonClient.getSalon(salonId);
+
+            WaitlistEntry entry = bookingService.joinWaitlist(bookingRequest, user, salon, serviceDTOSet);
+            return ResponseEntity.ok(entry);
+        } catch (Exception e) {
+            log.warn("waitlist join rejected salonId={} customerId={} error={}", salonId, customerId, e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         }
     }
+
+    @GetMapping("/waitlist/{entryId}")
+    public ResponseEntity<?> getWaitlistEntry(@PathVariable Long entryId) {
+        try {
+            return ResponseEntity.ok(bookingService.getWaitlistEntry(entryId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long entryId) {
+        try {
+            return ResponseEntity.ok(bookingService.leaveWaitlist(entryId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // includeArchived=true adds bookings the archiver moved out of the live table
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<Set<BookingDTO>> getBookingsByCustomer(
-            @PathVariable Long customerId
+    public ResponseEntity<List<BookingDTO>> getBookingsByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
-        List<Booking> bookings = bookingService.getBookingsByCustomer(customerId);
+        List<Booking> bookings = bookingService.getBookingsByCustomer(customerId, includeArchived);
         return ResponseEntity.ok(getBookingDTOs(bookings));
     }
 
+    // The customer's bookings with salon and service details in one response, see BookingHistoryServiceImpl
+    @GetMapping("/customer/{customerId}/history")
+    public ResponseEntity<List<EnrichedBookingDTO>> getBookingHistory(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        return ResponseEntity.ok(bookingHistoryService.getBookingHistory(customerId, includeArchived));
+    }
+
     @GetMapping("/salon/{salonId}")
-    public ResponseEntity<Set<BookingDTO>> getBookingsBySalon(
-            @PathVariable Long salonId
+    public ResponseEntity<List<BookingDTO>> getBookingsBySalon(
+            @PathVariable Long salonId,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
-        List<Booking> bookings = bookingService.getBookingsBySalon(salonId);
+        List<Booking> bookings = bookingService.getBookingsBySalon(salonId, includeArchived);
         return ResponseEntity.ok(getBookingDTOs(bookings));
     }
 
-    private Set<BookingDTO> getBookingDTOs(List<Booking> bookings) {
+    // Same (startTime, id) order as the paged endpoints
+    private List<BookingDTO> getBookingDTOs(List<Booking> bookings) {
         return bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStartTime).thenComparing(Booking::getId))
                 .map(BookingMapper::toDTO)
-                .collect(Collectors.toSet());
+                .toList();
+    }
+
+    @GetMapping("/customer/{customerId}/page")
+    public ResponseEntity<?> getBookingPageByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingPageByCustomer(customerId, cursor, size));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/salon/{salonId}/page")
+    public ResponseEntity<?> getBookingPageBySalon(
+            @PathVariable Long salonId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingPageBySalon(salonId, cursor, size));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Full salon history as one JSON booking per line, written while the rows are read
+    @GetMapping(value = "/salon/{salonId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsBySalon(
+            @PathVariable Long salonId
+    ) {
+        StreamingResponseBody body = outputStream -> bookingService.exportBookingsBySalon(salonId, bookingDTO -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(bookingDTO));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{bookingId}")
@@ -134,21 +314,36 @@ public class BookingController {
             @PathVariable LocalDate date
     ) {
         try {
-            List<Booking> bookings = bookingService.getBookingsByDate(date, salonId);
-            List<BookingSlotDTO> slotDTOs = bookings.stream()
-                    .map(booking -> {
-                        BookingSlotDTO slotDTO = new BookingSlotDTO();
-                        slotDTO.setStartTime(booking.getStartTime());
-                        slotDTO.setEndTime(booking.getEndTime());
-                        return slotDTO;
-                    }).collect(Collectors.toList());
-            return ResponseEntity.ok(slotDTOs);
+            return ResponseEntity.ok(bookingService.getBookedSlots(salonId, date));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(List.of());
         }
     }
 
+    @GetMapping("/availability/salon/{salonId}")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long salonId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam int duration,
+            @RequestParam(defaultValue = "30") int step
+    ) {
+        try {
+            // either a single date or a from/to range
+            LocalDate rangeStart = date != null ? date : from;
+            LocalDate rangeEnd = date != null ? date : (to != null ? to : from);
+
+            List<DayAvailabilityDTO> availability = bookingService.getAvailability(
+                    salonClient.getSalon(salonId), rangeStart, rangeEnd, duration, step);
+            return ResponseEntity.ok(availability);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/report/salon/{salonId}")
     public ResponseEntity<?> getSalonReport(@PathVariable Long salonId) {
         try {
@@ -159,4 +354,78 @@ public class BookingController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
+
+    @GetMapping("/report/salon/{salonId}/range")
+    public ResponseEntity<?> getSalonRangeReport(
+            @PathVariable Long salonId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        try {
+            SalonRangeReportDTO report = salonRollupService.getRangeReport(salonId, from, to);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Busiest hours by weekday, last 4 weeks unless a range is given
+    @GetMapping("/report/salon/{salonId}/heatmap")
+    public ResponseEntity<?> getOccupancyHeatmap(
+            @PathVariable Long salonId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        try {
+            LocalDate rangeEnd = to != null ? to : LocalDate.now();
+            LocalDate rangeStart = from != null ? from : rangeEnd.minusWeeks(4).plusDays(1);
+
+            OccupancyHeatmapDTO heatmap = salonRollupService.getOccupancyHeatmap(salonId, rangeStart, rangeEnd);
+            return ResponseEntity.ok(heatmap);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Recomputes one salon's daily rollups from its bookings, e.g. for history written before rollups existed
+    @PostMapping("/report/salon/{salonId}/rollups/rebuild")
+    public ResponseEntity<?> rebuildSalonRollups(@PathVariable Long salonId) {
+        try {
+            int days = salonRollupService.rebuildRollups(salonId);
+            return ResponseEntity.ok(Map.of("salonId", salonId, "days", days));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Runs the archiver now instead of waiting for booking.archive.cron; "before" defaults to the configured horizon
+    @PostMapping("/archive")
+    public ResponseEntity<?> archiveBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before
+    ) {
+        try {
+            int archived = before != null
+                    ? bookingArchiver.archiveBefore(before.atStartOfDay())
+                    : bookingArchiver.archiveBefore(bookingArchiver.defaultCutoff());
+            return ResponseEntity.ok(Map.of("archived", archived));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Recomputes every salon's report counters from the bookings table and returns the ones that drifted
+    @PostMapping("/report/rebuild")
+    public ResponseEntity<?> rebuildSalonReports() {
+        try {
+            List<SalonReportDriftDTO> drift = salonReportService.rebuildReports();
+            return ResponseEntity.ok(drift);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.shukla.controller;
+
+import com.shukla.client.SalonClient;
+import com.shukla.client.ServiceOfferingClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Called by service-offering and salon-service after their data changes
+@RestController
+@RequestMapping("/api/bookings/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final ServiceOfferingClient serviceOfferingClient;
+    private final SalonClient salonClient;
+
+    @DeleteMapping("/services/{serviceId}")
+    public ResponseEntity<Void> evictService(@PathVariable Long serviceId) {
+        serviceOfferingClient.evict(serviceId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/services")
+    public ResponseEntity<Void> evictAllServices() {
+        serviceOfferingClient.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/salons/{salonId}/refresh")
+    public ResponseEntity<Void> refreshSalon(@PathVariable Long salonId) {
+        salonClient.refresh(salonId);
+        return ResponseEntity.noContent().build();
+    }
+}
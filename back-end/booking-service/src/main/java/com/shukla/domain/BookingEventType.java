@@ -0,0 +1,9 @@
+package com.shukla.domain;
+
+public enum BookingEventType {
+
+    CREATED,
+    STATUS_CHANGED,
+    // a booking created for a waitlist entry after a cancellation freed its slot; the customer's notification
+    PROMOTED_FROM_WAITLIST
+}
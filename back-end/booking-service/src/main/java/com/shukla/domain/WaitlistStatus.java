@@ -0,0 +1,9 @@
+package com.shukla.domain;
+
+public enum WaitlistStatus {
+
+    WAITING,
+    PROMOTED,
+    CANCELLED,
+    EXPIRED
+}
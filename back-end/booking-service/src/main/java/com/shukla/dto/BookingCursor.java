@@ -0,0 +1,38 @@
+package com.shukla.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Keyset position of the last booking on a page, sent to clients as an opaque url-safe token
+@Data
+@AllArgsConstructor
+public class BookingCursor {
+
+    private LocalDateTime startTime;
+    private Long id;
+
+    public String encode() {
+        String raw = startTime + "," + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) throws Exception {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            return new BookingCursor(
+                    LocalDateTime.parse(raw.substring(0, comma)),
+                    Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new Exception("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.shukla.dto;
+
+import com.shukla.domain.BookingEventType;
+import com.shukla.domain.BookingStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// eventId increases per salon in write order; subscribers can drop anything at or below the last id they applied
+@Data
+public class BookingEventDTO {
+
+    private Long eventId;
+    private BookingEventType type;
+    private Long salonId;
+    private Long bookingId;
+    private Long customerId;
+    private BookingStatus status;
+    private BookingStatus previousStatus;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private int totalPrice;
+    private Set<Long> serviceIds;
+    private LocalDateTime occurredAt;
+}
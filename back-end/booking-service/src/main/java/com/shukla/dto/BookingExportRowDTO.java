@@ -0,0 +1,23 @@
+package com.shukla.dto;
+
+import com.shukla.domain.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row of the export join: a booking repeated once per service id (serviceId is null when it has none)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportRowDTO {
+
+    private Long id;
+    private Long salonId;
+    private Long customerId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BookingStatus status;
+    private Long serviceId;
+}
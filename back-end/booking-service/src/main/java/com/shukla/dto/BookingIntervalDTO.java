@@ -0,0 +1,18 @@
+package com.shukla.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingIntervalDTO {
+
+    private Long id;
+    private Long salonId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
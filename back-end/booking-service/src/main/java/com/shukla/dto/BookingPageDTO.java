@@ -0,0 +1,17 @@
+package com.shukla.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of a booking list, ordered by (startTime, id). nextCursor is null on the last page.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageDTO {
+
+    private List<BookingDTO> bookings;
+    private String nextCursor;
+}
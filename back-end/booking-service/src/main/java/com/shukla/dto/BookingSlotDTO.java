@@ -9,4 +9,6 @@ public class BookingSlotDTO {
 
     private LocalDateTime startTime;
     private LocalDateTime endTime;
+    // chairs still free at the busiest moment of this booking
+    private int remaining;
 }
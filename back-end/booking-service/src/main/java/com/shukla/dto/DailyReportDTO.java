@@ -0,0 +1,16 @@
+package com.shukla.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class DailyReportDTO {
+
+    private LocalDate date;
+    private Long totalBookings;
+    private Long cancelBookings;
+    private Double totalEarnings;
+    private Double totalRefund;
+    private Long bookedMinutes;
+}
@@ -0,0 +1,15 @@
+package com.shukla.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class DayAvailabilityDTO {
+
+    private LocalDate date;
+    private List<LocalTime> startTimes;
+    private List<SlotAvailabilityDTO> slots;
+}
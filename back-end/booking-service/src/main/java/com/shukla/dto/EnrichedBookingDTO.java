@@ -0,0 +1,28 @@
+package com.shukla.dto;
+
+import com.shukla.domain.BookingStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+// A booking with the salon and service details the customer pages show. Salon or service fields are
+// left empty when salon-service or service-offering could not answer in time.
+@Data
+public class EnrichedBookingDTO {
+
+    private Long id;
+    private Long customerId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BookingStatus status;
+    private int totalPrice;
+
+    private Long salonId;
+    private String salonName;
+    private String salonAddress;
+
+    private Set<Long> serviceIds;
+    private List<ServiceDTO> services;
+}
@@ -0,0 +1,17 @@
+package com.shukla.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class OccupancyHeatmapDTO {
+
+    private Long salonId;
+    private LocalDate from;
+    private LocalDate to;
+    // [dayOfWeek - 1][hour], Monday first
+    private long[][] bookedMinutes;
+    // booked minutes divided by the minutes that hour exists in the range
+    private double[][] occupancy;
+}
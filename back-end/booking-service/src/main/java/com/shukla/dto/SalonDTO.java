@@ -10,4 +10,10 @@ public class SalonDTO {
     private String address;
     private LocalTime openTime;
     private LocalTime closeTime;
-}
\ No newline at end of file
+    // chairs/stylists serving at once; missing from older salon-service responses
+    private Integer capacity;
+
+    public int capacityOrDefault() {
+        return capacity == null || capacity < 1 ? 1 : capacity;
+    }
+}
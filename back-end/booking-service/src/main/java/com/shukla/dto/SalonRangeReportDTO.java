@@ -0,0 +1,20 @@
+package com.shukla.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class SalonRangeReportDTO {
+
+    private Long salonId;
+    private LocalDate from;
+    private LocalDate to;
+    private Long totalBookings;
+    private Long cancelBookings;
+    private Double totalEarnings;
+    private Double totalRefund;
+    private Long bookedMinutes;
+    private List<DailyReportDTO> days;
+}
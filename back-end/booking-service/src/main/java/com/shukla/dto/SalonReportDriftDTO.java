@@ -0,0 +1,12 @@
+package com.shukla.dto;
+
+import com.shukla.model.SalonReportAggregate;
+import lombok.Data;
+
+@Data
+public class SalonReportDriftDTO {
+
+    private Long salonId;
+    private SalonReportAggregate expected;
+    private SalonReportAggregate actual;
+}
@@ -0,0 +1,17 @@
+package com.shukla.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotAvailabilityDTO {
+
+    private LocalTime startTime;
+    // chairs still free for the whole [startTime, startTime + duration]
+    private int remaining;
+}
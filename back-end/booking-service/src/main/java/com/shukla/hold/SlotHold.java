@@ -0,0 +1,20 @@
+package com.shukla.hold;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// A slot reserved in memory during checkout; becomes a booking on confirm or disappears at expiresAt
+@Data
+public class SlotHold {
+
+    private String id;
+    private Long salonId;
+    private Long customerId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Set<Long> serviceIds;
+    private int totalPrice;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,132 @@
+package com.shukla.hold;
+
+import com.shukla.dto.BookingIntervalDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Live slot holds per salon, in memory only. Nothing is written to the database until a hold is
+// confirmed, so an abandoned checkout leaves no PENDING row behind. Expiry runs off a TimingWheel
+// ticked by the scheduler; lookups also check expiresAt, so a hold never outlives its TTL by a tick.
+// Like SalonBookingLock this covers one JVM, holds are not shared between instances.
+@Component
+public class SlotHoldRegistry {
+
+    private final Map<Long, Map<String, SlotHold>> salons = new ConcurrentHashMap<>();
+    private final Map<String, SlotHold> holds = new ConcurrentHashMap<>();
+    private final TimingWheel<String> wheel;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Counter expiredCounter;
+
+    @Autowired
+    public SlotHoldRegistry(MeterRegistry meterRegistry,
+                            @Value("${booking.hold.ttl:10m}") Duration ttl,
+                            @Value("${booking.hold.tick-ms:1000}") long tickMillis,
+                            @Value("${booking.hold.wheel-size:512}") int wheelSize) {
+        this(meterRegistry, ttl, tickMillis, wheelSize, Clock.systemDefaultZone());
+    }
+
+    SlotHoldRegistry(MeterRegistry meterRegistry, Duration ttl, long tickMillis, int wheelSize, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, clock.millis());
+        this.expiredCounter = meterRegistry.counter("booking.hold.expired");
+        meterRegistry.gaugeMapSize("booking.hold.active", Tags.empty(), holds);
+    }
+
+    // Caller holds the salon's booking lock and has checked the slot
+    public SlotHold add(SlotHold hold) {
+        hold.setId(UUID.randomUUID().toString());
+        hold.setExpiresAt(LocalDateTime.now(clock).plus(ttl));
+
+        holds.put(hold.getId(), hold);
+        salons.computeIfAbsent(hold.getSalonId(), id -> new ConcurrentHashMap<>()).put(hold.getId(), hold);
+        wheel.schedule(hold.getId(), clock.millis() + ttl.toMillis());
+        return hold;
+    }
+
+    public SlotHold get(String holdId) {
+        SlotHold hold = holds.get(holdId);
+        return hold == null || isExpired(hold) ? null : hold;
+    }
+
+    public SlotHold remove(String holdId) {
+        SlotHold hold = holds.remove(holdId);
+        if (hold != null) {
+            Map<String, SlotHold> salonHolds = salons.get(hold.getSalonId());
+            if (salonHolds != null) {
+                salonHolds.remove(holdId);
+            }
+        }
+        return hold;
+    }
+
+    // Same closed-interval rule as the booking overlap check. A salon only has a handful of open
+    // checkouts at a time, so its holds are scanned rather than indexed.
+    public boolean hasOverlap(Long salonId, LocalDateTime startTime, LocalDateTime endTime) {
+        Map<String, SlotHold> salonHolds = salons.get(salonId);
+        if (salonHolds == null) {
+            return false;
+        }
+        for (SlotHold hold : salonHolds.values()) {
+            if (!isExpired(hold) && !hold.getStartTime().isAfter(endTime) && !hold.getEndTime().isBefore(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Held intervals touching [from, to], shaped like bookings for AvailabilityCalculator (no booking id)
+    public List<BookingIntervalDTO> findOverlapping(Long salonId, LocalDateTime from, LocalDateTime to) {
+        Map<String, SlotHold> salonHolds = salons.get(salonId);
+        if (salonHolds == null) {
+            return List.of();
+        }
+        List<BookingIntervalDTO> intervals = new ArrayList<>();
+        for (SlotHold hold : salonHolds.values()) {
+            if (!isExpired(hold) && !hold.getStartTime().isAfter(to) && !hold.getEndTime().isBefore(from)) {
+                intervals.add(new BookingIntervalDTO(null, salonId, hold.getStartTime(), hold.getEndTime()));
+            }
+        }
+        return intervals;
+    }
+
+    public int size() {
+        return holds.size();
+    }
+
+    @Scheduled(fixedRateString = "${booking.hold.tick-ms:1000}")
+    public void tick() {
+        expire();
+    }
+
+    // Returns how many holds were dropped; confirmed or released ones are already gone and are skipped
+    public int expire() {
+        int expired = 0;
+        for (String holdId : wheel.advance(clock.millis())) {
+            if (remove(holdId) != null) {
+                expired++;
+            }
+        }
+        expiredCounter.increment(expired);
+        return expired;
+    }
+
+    private boolean isExpired(SlotHold hold) {
+        return !hold.getExpiresAt().isAfter(LocalDateTime.now(clock));
+    }
+}
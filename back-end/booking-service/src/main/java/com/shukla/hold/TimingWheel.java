@@ -0,0 +1,65 @@
+package com.shukla.hold;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+// Hashed timing wheel: scheduling is O(1) and each tick only visits one bucket, so expiring
+// thousands of holds never scans all of them. An item due more than one revolution away
+// carries a round count that is decremented each time its bucket comes round.
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<LinkedList<Slot<T>>> buckets;
+    // last tick advance() has processed
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int bucketCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new LinkedList<>());
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    // Fires on the first tick at or after deadlineMillis, never earlier
+    synchronized void schedule(T item, long deadlineMillis) {
+        long targetTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        int bucketCount = buckets.size();
+        long rounds = (targetTick - currentTick - 1) / bucketCount;
+        buckets.get((int) Math.floorMod(targetTick, (long) bucketCount)).add(new Slot<>(item, rounds));
+    }
+
+    // Returns every item whose deadline has passed by nowMillis
+    synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < nowTick) {
+            currentTick++;
+            Iterator<Slot<T>> slots = buckets.get((int) Math.floorMod(currentTick, (long) buckets.size())).iterator();
+            while (slots.hasNext()) {
+                Slot<T> slot = slots.next();
+                if (slot.rounds == 0) {
+                    expired.add(slot.item);
+                    slots.remove();
+                } else {
+                    slot.rounds--;
+                }
+            }
+        }
+        return expired;
+    }
+
+    private static final class Slot<T> {
+
+        private final T item;
+        private long rounds;
+
+        private Slot(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.shukla.index;
+
+import com.shukla.dto.BookingIntervalDTO;
+import com.shukla.dto.DayAvailabilityDTO;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.SlotAvailabilityDTO;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Works out bookable start times from a booking count per minute boundary across the whole
+// date range. Bookings add one over their minutes, closed hours count as full, and a start time
+// is free while the busiest minute in [start, start + duration] is below the salon's capacity,
+// the same closed-interval rule isTimeSlotAvailable uses.
+public class AvailabilityCalculator {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static List<DayAvailabilityDTO> calculate(SalonDTO salon,
+                                                     LocalDate from,
+                                                     LocalDate to,
+                                                     List<BookingIntervalDTO> bookings,
+                                                     int duration,
+                                                     int step) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int lastMinute = days * MINUTES_PER_DAY;
+        int openMinute = salon.getOpenTime().toSecondOfDay() / 60;
+        int closeMinute = salon.getCloseTime().toSecondOfDay() / 60;
+        int capacity = salon.capacityOrDefault();
+
+        // difference array, turned into counts below
+        int[] counts = new int[lastMinute + 2];
+
+        // fill everything outside opening hours
+        for (int day = 0; day < days; day++) {
+            int dayStart = day * MINUTES_PER_DAY;
+            addRange(counts, dayStart, dayStart + openMinute - 1, capacity);
+            addRange(counts, dayStart + closeMinute + 1, dayStart + MINUTES_PER_DAY - 1, capacity);
+        }
+
+        LocalDateTime rangeStart = from.atStartOfDay();
+        for (BookingIntervalDTO booking : bookings) {
+            long first = Math.max(floorMinutes(rangeStart, booking.getStartTime()), 0);
+            long last = Math.min(ceilMinutes(rangeStart, booking.getEndTime()), lastMinute);
+            if (first <= last) {
+                addRange(counts, (int) first, (int) last, 1);
+            }
+        }
+        for (int minute = 1; minute <= lastMinute; minute++) {
+            counts[minute] += counts[minute - 1];
+        }
+        int[] peaks = windowMax(counts, lastMinute + 1, duration + 1);
+
+        List<DayAvailabilityDTO> result = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            int dayStart = day * MINUTES_PER_DAY;
+            List<LocalTime> startTimes = new ArrayList<>();
+            List<SlotAvailabilityDTO> slots = new ArrayList<>();
+
+            for (int minute = openMinute; minute + duration <= closeMinute; minute += step) {
+                int remaining = capacity - peaks[dayStart + minute];
+                if (remaining > 0) {
+                    LocalTime startTime = LocalTime.ofSecondOfDay(minute * 60L);
+                    startTimes.add(startTime);
+                    slots.add(new SlotAvailabilityDTO(startTime, remaining));
+                }
+            }
+
+            DayAvailabilityDTO dayAvailability = new DayAvailabilityDTO();
+            dayAvailability.setDate(from.plusDays(day));
+            dayAvailability.setStartTimes(startTimes);
+            dayAvailability.setSlots(slots);
+            result.add(dayAvailability);
+        }
+        return result;
+    }
+
+    private static void addRange(int[] diff, int first, int last, int amount) {
+        if (first <= last) {
+            diff[first] += amount;
+            diff[last + 1] -= amount;
+        }
+    }
+
+    // peaks[i] = max(values[i .. i + width - 1]), clipped at length; monotonic deque, O(length)
+    private static int[] windowMax(int[] values, int length, int width) {
+        int[] peaks = new int[length];
+        Deque<Integer> window = new ArrayDeque<>();
+        for (int i = length - 1; i >= 0; i--) {
+            while (!window.isEmpty() && values[window.peekLast()] <= values[i]) {
+                window.pollLast();
+            }
+            window.addLast(i);
+            if (window.peekFirst() >= i + width) {
+                window.pollFirst();
+            }
+            peaks[i] = values[window.peekFirst()];
+        }
+        return peaks;
+    }
+
+    private static long floorMinutes(LocalDateTime origin, LocalDateTime time) {
+        return Math.floorDiv(Duration.between(origin, time).getSeconds(), 60);
+    }
+
+    private static long ceilMinutes(LocalDateTime origin, LocalDateTime time) {
+        Duration offset = Duration.between(origin, time);
+        long seconds = offset.getSeconds() + (offset.getNano() > 0 ? 1 : 0);
+        return -Math.floorDiv(-seconds, 60);
+    }
+}
@@ -0,0 +1,107 @@
+package com.shukla.index;
+
+import com.shukla.dto.BookingIntervalDTO;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+// Peak number of bookings running at the same moment inside a window, for salons with more than one chair.
+// Closed intervals are laid on a compressed time axis with one leaf per distinct endpoint and one per
+// gap between neighbouring endpoints; a sweep over the sorted endpoints gives every leaf its count and
+// a max segment tree over the leaves answers a window in O(log m). Immutable, built in O(m log m).
+public final class ConcurrencyTree {
+
+    private static final ConcurrencyTree EMPTY = new ConcurrencyTree(new long[0], new int[0]);
+
+    private final long[] points;
+    // iterative segment tree, leaves at [leafCount, 2 * leafCount)
+    private final int[] tree;
+    private final int leafCount;
+
+    private ConcurrencyTree(long[] points, int[] counts) {
+        this.points = points;
+        this.leafCount = counts.length;
+        this.tree = new int[2 * leafCount];
+        System.arraycopy(counts, 0, tree, leafCount, leafCount);
+        for (int i = leafCount - 1; i > 0; i--) {
+            tree[i] = Math.max(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public static ConcurrencyTree of(List<BookingIntervalDTO> intervals) {
+        long[] starts = new long[intervals.size()];
+        long[] ends = new long[intervals.size()];
+        for (int i = 0; i < intervals.size(); i++) {
+            starts[i] = SalonIntervalIndex.toKey(intervals.get(i).getStartTime());
+            ends[i] = SalonIntervalIndex.toKey(intervals.get(i).getEndTime());
+        }
+        return of(starts, ends);
+    }
+
+    // starts[i] and ends[i] are one interval, as SalonIntervalIndex keys
+    static ConcurrencyTree of(long[] starts, long[] ends) {
+        if (starts.length == 0) {
+            return EMPTY;
+        }
+        long[] endpoints = new long[starts.length * 2];
+        System.arraycopy(starts, 0, endpoints, 0, starts.length);
+        System.arraycopy(ends, 0, endpoints, starts.length, ends.length);
+        Arrays.sort(endpoints);
+        long[] points = Arrays.stream(endpoints).distinct().toArray();
+
+        // leaf 2i is points[i], leaf 2i + 1 the open gap after it
+        int[] counts = new int[2 * points.length];
+        for (int i = 0; i < starts.length; i++) {
+            counts[2 * Arrays.binarySearch(points, starts[i])]++;
+            counts[2 * Arrays.binarySearch(points, ends[i]) + 1]--;
+        }
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+        return new ConcurrencyTree(points, counts);
+    }
+
+    // Most intervals covering any single instant of [from, to]
+    public int peak(LocalDateTime from, LocalDateTime to) {
+        if (points.length == 0) {
+            return 0;
+        }
+        int first = leafAtOrAfter(SalonIntervalIndex.toKey(from));
+        int last = leafAtOrBefore(SalonIntervalIndex.toKey(to));
+        return first > last ? 0 : max(first, last);
+    }
+
+    // leaf holding key, or the first one after it when key is before every point
+    private int leafAtOrAfter(long key) {
+        int index = Arrays.binarySearch(points, key);
+        if (index >= 0) {
+            return 2 * index;
+        }
+        int insertion = -index - 1;
+        return insertion == 0 ? 0 : 2 * insertion - 1;
+    }
+
+    // leaf holding key, or the last one before it when key is after every point
+    private int leafAtOrBefore(long key) {
+        int index = Arrays.binarySearch(points, key);
+        if (index >= 0) {
+            return 2 * index;
+        }
+        int insertion = -index - 1;
+        return insertion == 0 ? -1 : 2 * insertion - 1;
+    }
+
+    private int max(int first, int last) {
+        int result = 0;
+        for (int lo = first + leafCount, hi = last + leafCount + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                result = Math.max(result, tree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                result = Math.max(result, tree[--hi]);
+            }
+        }
+        return result;
+    }
+}
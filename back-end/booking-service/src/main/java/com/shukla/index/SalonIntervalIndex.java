@@ -0,0 +1,303 @@
+package com.shukla.index;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingIntervalDTO;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// In-memory copy of every non-cancelled booking interval, grouped by salon.
+// Answers the same question as BookingRepository.findOverlappingBookings
+// (start <= :endTime AND end >= :startTime) without a database round trip.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalonIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${booking.interval-index.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, SalonIntervals> salons = new ConcurrentHashMap<>();
+
+    // rebuild() takes the write lock so no update is lost while the snapshot is swapped in
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            ready = false;
+            Map<Long, List<BookingIntervalDTO>> bySalon = bookingRepository.findActiveIntervals().stream()
+                    .collect(Collectors.groupingBy(BookingIntervalDTO::getSalonId));
+
+            salons.clear();
+            bySalon.forEach((salonId, intervals) -> salons.put(salonId, SalonIntervals.of(intervals)));
+            ready = true;
+        } catch (Exception e) {
+            // leave the index disabled, callers fall back to the database query
+            log.error("salon interval index build failed error={}", e.getMessage(), e);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public boolean hasOverlap(Long salonId, LocalDateTime startTime, LocalDateTime endTime) {
+        SalonIntervals intervals = salons.get(salonId);
+        return intervals != null && intervals.overlaps(toKey(startTime), toKey(endTime));
+    }
+
+    // Every active interval touching [from, to], using the same closed-interval rule as hasOverlap
+    public List<BookingIntervalDTO> findOverlapping(Long salonId, LocalDateTime from, LocalDateTime to) {
+        SalonIntervals intervals = salons.get(salonId);
+        if (intervals == null) {
+            return List.of();
+        }
+        return intervals.overlapping(salonId, toKey(from), toKey(to));
+    }
+
+    // Most active bookings running at the same moment anywhere in [from, to], O(log n) once the
+    // salon's tree is built; a write replaces the snapshot, so the next query builds a fresh one
+    public int peakOverlap(Long salonId, LocalDateTime from, LocalDateTime to) {
+        SalonIntervals intervals = salons.get(salonId);
+        return intervals == null ? 0 : intervals.concurrency().peak(from, to);
+    }
+
+    public int size(Long salonId) {
+        SalonIntervals intervals = salons.get(salonId);
+        return intervals == null ? 0 : intervals.ids.length;
+    }
+
+    // Keeps the index in line with a saved booking, after commit when a transaction is running
+    public void onBookingSaved(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(booking);
+                }
+            });
+        } else {
+            apply(booking);
+        }
+    }
+
+    // Drops a booking that left the bookings table (archived), after commit like onBookingSaved
+    public void onBookingRemoved(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(booking, false);
+                }
+            });
+        } else {
+            apply(booking, false);
+        }
+    }
+
+    private void apply(Booking booking) {
+        apply(booking, booking.getStatus() != BookingStatus.CANCELLED);
+    }
+
+    private void apply(Booking booking, boolean active) {
+        long id = booking.getId();
+        long start = toKey(booking.getStartTime());
+        long end = toKey(booking.getEndTime());
+
+        rebuildLock.readLock().lock();
+        try {
+            salons.compute(booking.getSalonId(), (salonId, current) -> {
+                SalonIntervals base = current == null ? SalonIntervals.EMPTY : current;
+                SalonIntervals next = active ? base.with(id, start, end) : base.without(id);
+                return next.ids.length == 0 ? null : next;
+            });
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Microseconds since epoch, the same precision MySQL keeps for DATETIME(6)
+    static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromKey(long key) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000L),
+                (int) Math.floorMod(key, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // Immutable start-sorted arrays plus a running max of end times, so an overlap
+    // check is one binary search. Writers copy under compute(), readers never lock.
+    static final class SalonIntervals {
+
+        static final SalonIntervals EMPTY = new SalonIntervals(new long[0], new long[0], new long[0]);
+
+        final long[] ids;
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnds;
+        private volatile ConcurrencyTree concurrency;
+
+        private SalonIntervals(long[] ids, long[] starts, long[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        static SalonIntervals of(List<BookingIntervalDTO> intervals) {
+            BookingIntervalDTO[] sorted = intervals.toArray(new BookingIntervalDTO[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(toKey(a.getStartTime()), toKey(b.getStartTime())));
+
+            long[] ids = new long[sorted.length];
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getId();
+                starts[i] = toKey(sorted[i].getStartTime());
+                ends[i] = toKey(sorted[i].getEndTime());
+            }
+            return new SalonIntervals(ids, starts, ends);
+        }
+
+        boolean overlaps(long start, long end) {
+            int last = upperBound(starts, end) - 1;
+            return last >= 0 && maxEnds[last] >= start;
+        }
+
+        List<BookingIntervalDTO> overlapping(Long salonId, long from, long to) {
+            // maxEnds is non-decreasing, so everything before the first maxEnd >= from ends too early
+            int first = lowerBound(maxEnds, from);
+            int last = upperBound(starts, to);
+            List<BookingIntervalDTO> result = new ArrayList<>();
+            for (int i = first; i < last; i++) {
+                if (ends[i] >= from) {
+                    result.add(new BookingIntervalDTO(ids[i], salonId, fromKey(starts[i]), fromKey(ends[i])));
+                }
+            }
+            return result;
+        }
+
+        // built on first use, racing readers at worst build the same tree twice
+        ConcurrencyTree concurrency() {
+            ConcurrencyTree tree = concurrency;
+            if (tree == null) {
+                tree = ConcurrencyTree.of(starts, ends);
+                concurrency = tree;
+            }
+            return tree;
+        }
+
+        SalonIntervals with(long id, long start, long end) {
+            SalonIntervals base = without(id);
+            int n = base.ids.length;
+            int pos = upperBound(base.starts, start);
+
+            long[] ids = new long[n + 1];
+            long[] starts = new long[n + 1];
+            long[] ends = new long[n + 1];
+            insert(base.ids, ids, pos, id);
+            insert(base.starts, starts, pos, start);
+            insert(base.ends, ends, pos, end);
+            return new SalonIntervals(ids, starts, ends);
+        }
+
+        SalonIntervals without(long id) {
+            int pos = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                return this;
+            }
+            return new SalonIntervals(remove(ids, pos), remove(starts, pos), remove(ends, pos));
+        }
+
+        // first index whose value is greater than or equal to key
+        private static int lowerBound(long[] values, long key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // first index whose value is strictly greater than key
+        private static int upperBound(long[] values, long key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static void insert(long[] source, long[] target, int pos, long value) {
+            System.arraycopy(source, 0, target, 0, pos);
+            target[pos] = value;
+            System.arraycopy(source, pos, target, pos + 1, source.length - pos);
+        }
+
+        private static long[] remove(long[] source, int pos) {
+            long[] target = new long[source.length - 1];
+            System.arraycopy(source, 0, target, 0, pos);
+            System.arraycopy(source, pos + 1, target, pos, source.length - pos - 1);
+            return target;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.shukla.model;
+
+import com.shukla.domain.BookingStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// Cold copy of a booking that ended before the archive horizon, moved here by BookingArchiver.
+// Keeps the booking's id, so links and reports keep working after the move.
+@Entity
+@Data
+@Table(name = "archived_booking", indexes = {
+        @Index(name = "idx_archived_booking_salon_start", columnList = "salon_id, start_time"),
+        @Index(name = "idx_archived_booking_customer_start", columnList = "customer_id, start_time")
+})
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    private Long salonId;
+
+    private Long customerId;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    @ElementCollection
+    @CollectionTable(name = "archived_booking_service_ids", joinColumns = @JoinColumn(name = "archived_booking_id"))
+    private Set<Long> serviceIds;
+
+    private BookingStatus status;
+
+    private int totalPrice;
+
+    private LocalDateTime archivedAt;
+
+    public static ArchivedBooking from(Booking booking, LocalDateTime archivedAt) {
+        ArchivedBooking archived = new ArchivedBooking();
+        archived.setId(booking.getId());
+        archived.setSalonId(booking.getSalonId());
+        archived.setCustomerId(booking.getCustomerId());
+        archived.setStartTime(booking.getStartTime());
+        archived.setEndTime(booking.getEndTime());
+        archived.setServiceIds(new HashSet<>(booking.getServiceIds()));
+        archived.setStatus(booking.getStatus());
+        archived.setTotalPrice(booking.getTotalPrice());
+        archived.setArchivedAt(archivedAt);
+        return archived;
+    }
+
+    // Detached Booking for read paths and report rebuilds; never saved back
+    public Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setSalonId(salonId);
+        booking.setCustomerId(customerId);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setServiceIds(new HashSet<>(serviceIds));
+        booking.setStatus(status);
+        booking.setTotalPrice(totalPrice);
+        return booking;
+    }
+}
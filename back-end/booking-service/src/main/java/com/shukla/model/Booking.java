@@ -9,6 +9,14 @@ import java.util.Set;
 
 @Entity
 @Data
+@Table(indexes = {
+        // overlap checks, per-day slots and salon listings all lead with salon_id and range on start_time
+        @Index(name = "idx_booking_salon_start", columnList = "salon_id, start_time"),
+        @Index(name = "idx_booking_customer_start", columnList = "customer_id, start_time"),
+        @Index(name = "idx_booking_status_start", columnList = "status, start_time"),
+        // BookingArchiver walks bookings that ended before the archive horizon
+        @Index(name = "idx_booking_end", columnList = "end_time, id")
+})
 public class Booking {
 
     @Id
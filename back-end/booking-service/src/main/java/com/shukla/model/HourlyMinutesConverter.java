@@ -0,0 +1,37 @@
+package com.shukla.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores the 24 per-hour minute counts of a rollup row as one comma separated column
+@Converter
+public class HourlyMinutesConverter implements AttributeConverter<int[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(int[] minutes) {
+        if (minutes == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < minutes.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(minutes[i]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(String column) {
+        int[] minutes = new int[24];
+        if (column == null || column.isEmpty()) {
+            return minutes;
+        }
+        String[] parts = column.split(",");
+        for (int i = 0; i < parts.length && i < minutes.length; i++) {
+            minutes[i] = Integer.parseInt(parts[i]);
+        }
+        return minutes;
+    }
+}
@@ -0,0 +1,46 @@
+package com.shukla.model;
+
+import com.shukla.domain.BookingEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Booking lifecycle event, inserted in the same transaction as the booking change and published later by OutboxRelay
+@Entity
+@Data
+@Table(indexes = {
+        // relay reads pending (unpublished, not parked) events in id order, purge removes old published ones
+        @Index(name = "idx_outbox_pending", columnList = "published_at, parked_at, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long salonId;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private BookingEventType eventType;
+
+    // BookingEventDTO as JSON
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    // failed deliveries so far; the relay keeps retrying however high it gets
+    private int attempts;
+
+    // set by the relay when the payload cannot be read, or by an operator giving up on the event; clear it to resend
+    private LocalDateTime parkedAt;
+}
@@ -0,0 +1,35 @@
+package com.shukla.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// One row per salon and day. Counts and money go to the day the booking starts,
+// booked minutes are split over the hours (and days) the booking actually covers.
+@Entity
+@Data
+@IdClass(SalonDailyRollupId.class)
+public class SalonDailyRollup {
+
+    @Id
+    private Long salonId;
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    private long totalBookings;
+
+    private long cancelBookings;
+
+    private long totalEarnings;
+
+    private long totalRefund;
+
+    private long bookedMinutes;
+
+    @Convert(converter = HourlyMinutesConverter.class)
+    @Column(length = 255)
+    private int[] hourlyMinutes = new int[24];
+}
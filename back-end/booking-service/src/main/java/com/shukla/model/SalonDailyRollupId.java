@@ -0,0 +1,17 @@
+package com.shukla.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalonDailyRollupId implements Serializable {
+
+    private Long salonId;
+    private LocalDate day;
+}
@@ -0,0 +1,26 @@
+package com.shukla.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running report totals per salon, updated with every booking write
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalonReportAggregate {
+
+    @Id
+    private Long salonId;
+
+    private Long totalBookings;
+
+    private Long cancelBookings;
+
+    private Long totalEarnings;
+
+    private Long totalRefund;
+}
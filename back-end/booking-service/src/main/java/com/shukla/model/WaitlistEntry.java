@@ -0,0 +1,44 @@
+package com.shukla.model;
+
+import com.shukla.domain.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// A customer waiting for a taken slot. Durable copy of what SalonWaitlist holds in memory.
+@Entity
+@Data
+@Table(indexes = {
+        // startup loads every WAITING entry
+        @Index(name = "idx_waitlist_status_salon", columnList = "status, salon_id")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long salonId;
+
+    private Long customerId;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    @ElementCollection
+    private Set<Long> serviceIds;
+
+    private int totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    private LocalDateTime createdAt;
+
+    // set once promoted
+    private Long bookingId;
+}
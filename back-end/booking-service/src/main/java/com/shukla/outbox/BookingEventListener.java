@@ -0,0 +1,12 @@
+package com.shukla.outbox;
+
+import com.shukla.dto.BookingEventDTO;
+
+import java.util.List;
+
+// Subscriber of the booking outbox. Every call carries events of a single salon in the order they were written.
+// A call that throws is retried with the same events, so an event can be delivered more than once.
+public interface BookingEventListener {
+
+    void onEvents(List<BookingEventDTO> events) throws Exception;
+}
@@ -0,0 +1,52 @@
+package com.shukla.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.domain.BookingEventType;
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingEventDTO;
+import com.shukla.model.Booking;
+import com.shukla.model.OutboxEvent;
+import com.shukla.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // Must join the booking's transaction, so the event exists exactly when the change does.
+    // Callers hold the salon lock, which keeps ids in write order per salon.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Booking booking, BookingEventType type, BookingStatus previousStatus) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        BookingEventDTO event = new BookingEventDTO();
+        event.setType(type);
+        event.setSalonId(booking.getSalonId());
+        event.setBookingId(booking.getId());
+        event.setCustomerId(booking.getCustomerId());
+        event.setStatus(booking.getStatus());
+        event.setPreviousStatus(previousStatus);
+        event.setStartTime(booking.getStartTime());
+        event.setEndTime(booking.getEndTime());
+        event.setTotalPrice(booking.getTotalPrice());
+        event.setServiceIds(new HashSet<>(booking.getServiceIds()));
+        event.setOccurredAt(now);
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setSalonId(booking.getSalonId());
+        outboxEvent.setBookingId(booking.getId());
+        outboxEvent.setEventType(type);
+        outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        outboxEvent.setCreatedAt(now);
+        outboxEventRepository.save(outboxEvent);
+    }
+}
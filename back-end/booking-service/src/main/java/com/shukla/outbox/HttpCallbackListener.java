@@ -0,0 +1,28 @@
+package com.shukla.outbox;
+
+import com.shukla.dto.BookingEventDTO;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+// POSTs each batch as a JSON array to a service registered in booking.outbox.callback-urls
+public class HttpCallbackListener implements BookingEventListener {
+
+    private final RestTemplate restTemplate;
+    private final String url;
+
+    public HttpCallbackListener(RestTemplate restTemplate, String url) {
+        this.restTemplate = restTemplate;
+        this.url = url;
+    }
+
+    @Override
+    public void onEvents(List<BookingEventDTO> events) {
+        restTemplate.postForLocation(url, events);
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
@@ -0,0 +1,206 @@
+package com.shukla.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.dto.BookingEventDTO;
+import com.shukla.model.OutboxEvent;
+import com.shukla.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Publishes pending outbox events in id order, one call per salon per subscriber.
+// A salon whose delivery fails keeps all its events unpublished and is retried from its first one, so delivery
+// is at least once and per-salon order holds however long the subscriber is down. Retries back off per salon,
+// doubling from retry-initial up to retry-max; while a salon waits it is left out of the query, so a salon with
+// a backlog of failing events cannot fill every batch and other salons are not held back.
+// Only an event that cannot be read is parked: kept in the table with parked_at set, skipped from then on and
+// reported as booking.outbox.parked. Its salon's later events go out without it. Failed deliveries are never
+// given up on by the relay; dropping one is an operator setting parked_at by hand.
+// Single relay per JVM; running several booking-service instances needs one of them to own the relay.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final List<BookingEventListener> listeners = new ArrayList<>();
+    private final int batchSize;
+    private final int retentionDays;
+    private final Duration retryInitial;
+    private final Duration retryMax;
+    private final Clock clock;
+    // salons whose last delivery failed, cleared by their next successful one; only touched by publishPending
+    private final Map<Long, Backoff> backoffs = new HashMap<>();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    private record Backoff(int failures, long retryAtMillis) {
+    }
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ObjectMapper objectMapper,
+                       RestTemplate restTemplate,
+                       MeterRegistry meterRegistry,
+                       ObjectProvider<BookingEventListener> listenerBeans,
+                       @Value("${booking.outbox.callback-urls:}") List<String> callbackUrls,
+                       @Value("${booking.outbox.batch-size:100}") int batchSize,
+                       @Value("${booking.outbox.retention-days:7}") int retentionDays,
+                       @Value("${booking.outbox.retry-initial:1s}") Duration retryInitial,
+                       @Value("${booking.outbox.retry-max:5m}") Duration retryMax) {
+        this(outboxEventRepository, objectMapper, restTemplate, meterRegistry, listenerBeans, callbackUrls,
+                batchSize, retentionDays, retryInitial, retryMax, Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, RestTemplate restTemplate,
+                MeterRegistry meterRegistry, ObjectProvider<BookingEventListener> listenerBeans,
+                List<String> callbackUrls, int batchSize, int retentionDays, Duration retryInitial,
+                Duration retryMax, Clock clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.retryInitial = retryInitial;
+        this.retryMax = retryMax;
+        this.clock = clock;
+        this.publishedCounter = meterRegistry.counter("booking.outbox.published");
+        this.failedCounter = meterRegistry.counter("booking.outbox.failed");
+        this.parkedCounter = meterRegistry.counter("booking.outbox.parked");
+        meterRegistry.gaugeMapSize("booking.outbox.backing-off", Tags.empty(), backoffs);
+
+        listenerBeans.orderedStream().forEach(listeners::add);
+        for (String url : callbackUrls) {
+            if (!url.isBlank()) {
+                listeners.add(new HttpCallbackListener(restTemplate, url.trim()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-ms:1000}",
+            initialDelayString = "${booking.outbox.relay-ms:1000}")
+    public void relay() {
+        try {
+            publishPending();
+        } catch (Exception e) {
+            log.error("outbox relay failed error={}", e.getMessage());
+        }
+    }
+
+    // Returns how many events were published. Runs until no pending event is left outside the skipped salons
+    // (backing off, or failed in this run); every batch publishes, parks or skips the salons in it, so it ends.
+    public synchronized int publishPending() {
+        long now = clock.millis();
+        Set<Long> skippedSalons = new HashSet<>();
+        backoffs.forEach((salonId, backoff) -> {
+            if (backoff.retryAtMillis() > now) {
+                skippedSalons.add(salonId);
+            }
+        });
+        int published = 0;
+        while (true) {
+            List<OutboxEvent> batch = skippedSalons.isEmpty()
+                    ? outboxEventRepository.findByPublishedAtIsNullAndParkedAtIsNullOrderByIdAsc(Limit.of(batchSize))
+                    : outboxEventRepository.findByPublishedAtIsNullAndParkedAtIsNullAndSalonIdNotInOrderByIdAsc(
+                            skippedSalons, Limit.of(batchSize));
+
+            Map<Long, List<OutboxEvent>> bySalon = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                bySalon.computeIfAbsent(event.getSalonId(), salonId -> new ArrayList<>()).add(event);
+            }
+            for (Map.Entry<Long, List<OutboxEvent>> salon : bySalon.entrySet()) {
+                int salonPublished = publishSalon(salon.getValue());
+                if (salonPublished < 0) {
+                    skippedSalons.add(salon.getKey());
+                } else {
+                    backoffs.remove(salon.getKey());
+                    published += salonPublished;
+                }
+            }
+            if (batch.size() < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    // Events of one salon in id order; returns how many were published, -1 when delivery failed
+    private int publishSalon(List<OutboxEvent> salonEvents) {
+        Long salonId = salonEvents.get(0).getSalonId();
+        List<Long> ids = new ArrayList<>();
+        List<BookingEventDTO> events = new ArrayList<>();
+        for (OutboxEvent outboxEvent : salonEvents) {
+            BookingEventDTO event;
+            try {
+                event = objectMapper.readValue(outboxEvent.getPayload(), BookingEventDTO.class);
+            } catch (Exception e) {
+                // can never be delivered, so it must not block the salon's other events
+                log.error("booking event unreadable, parked eventId={} salonId={} error={}",
+                        outboxEvent.getId(), salonId, e.getMessage());
+                outboxEventRepository.park(List.of(outboxEvent.getId()), LocalDateTime.now());
+                parkedCounter.increment();
+                continue;
+            }
+            event.setEventId(outboxEvent.getId());
+            ids.add(outboxEvent.getId());
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            for (BookingEventListener listener : listeners) {
+                listener.onEvents(events);
+            }
+        } catch (Exception e) {
+            Backoff backoff = backOff(salonId);
+            log.warn("booking event publish failed salonId={} events={} failures={} retryInMs={} error={}",
+                    salonId, events.size(), backoff.failures(), backoff.retryAtMillis() - clock.millis(),
+                    e.getMessage());
+            outboxEventRepository.incrementAttempts(ids);
+            failedCounter.increment(events.size());
+            return -1;
+        }
+
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+
+    // retry-initial after the first failure, doubling with each one after it, never more than retry-max
+    private Backoff backOff(Long salonId) {
+        Backoff previous = backoffs.get(salonId);
+        int failures = previous == null ? 1 : previous.failures() + 1;
+        Duration delay = retryInitial.multipliedBy(1L << Math.min(failures - 1, 30));
+        if (delay.compareTo(retryMax) > 0) {
+            delay = retryMax;
+        }
+        Backoff backoff = new Backoff(failures, clock.millis() + delay.toMillis());
+        backoffs.put(salonId, backoff);
+        return backoff;
+    }
+
+    @Scheduled(cron = "${booking.outbox.purge-cron:0 0 * * * *}")
+    public void purgePublished() {
+        outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+}
@@ -0,0 +1,37 @@
+package com.shukla.repository;
+
+import com.shukla.model.ArchivedBooking;
+import com.shukla.model.SalonReportAggregate;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    @EntityGraph(attributePaths = "serviceIds")
+    List<ArchivedBooking> findByCustomerId(Long customerId);
+
+    @EntityGraph(attributePaths = "serviceIds")
+    List<ArchivedBooking> findBySalonId(Long salonId);
+
+    @EntityGraph(attributePaths = "serviceIds")
+    Optional<ArchivedBooking> findWithServiceIdsById(Long id);
+
+    // Same totals as BookingRepository.REPORT_TOTALS, so the all-time report survives archiving
+    String REPORT_TOTALS = "SELECT new com.shukla.model.SalonReportAggregate(b.salonId, COUNT(b), " +
+            "SUM(CASE WHEN b.status = com.shukla.domain.BookingStatus.CANCELLED THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN b.status IN (com.shukla.domain.BookingStatus.PENDING, " +
+            "com.shukla.domain.BookingStatus.CONFIRMED) THEN b.totalPrice ELSE 0L END), " +
+            "SUM(CASE WHEN b.status = com.shukla.domain.BookingStatus.CANCELLED THEN b.totalPrice ELSE 0L END)) " +
+            "FROM ArchivedBooking b ";
+
+    @Query(REPORT_TOTALS + "WHERE b.salonId = :salonId GROUP BY b.salonId")
+    SalonReportAggregate computeReportTotals(@Param("salonId") Long salonId);
+
+    @Query(REPORT_TOTALS + "GROUP BY b.salonId")
+    List<SalonReportAggregate> computeAllReportTotals();
+}
@@ -1,23 +1,101 @@
 package com.shukla.repository;
 
 import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingExportRowDTO;
+import com.shukla.dto.BookingIntervalDTO;
 import com.shukla.model.Booking;
+import com.shukla.model.SalonReportAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // serviceIds are fetched in the same query, BookingMapper.toDTO reads them for every row
+    @EntityGraph(attributePaths = "serviceIds")
     List<Booking> findByCustomerId(Long customerId);
+
+    @EntityGraph(attributePaths = "serviceIds")
     List<Booking> findBySalonId(Long salonId);
 
-    // Find bookings by salon and date range
-    @Query("SELECT b FROM Booking b WHERE b.salonId = :salonId AND DATE(b.startTime) = :date")
-    List<Booking> findBySalonIdAndDate(@Param("salonId") Long salonId, @Param("date") LocalDate date);
+    // Keyset pages on (startTime, id): ids first so LIMIT applies to bookings, not to joined serviceIds rows.
+    // The "startTime >= :afterStart" term keeps the seek a range scan on the (salon/customer, start_time) index.
+    @Query("SELECT b.id FROM Booking b WHERE b.salonId = :salonId ORDER BY b.startTime, b.id")
+    List<Long> findPageIdsBySalon(@Param("salonId") Long salonId, Limit limit);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.salonId = :salonId AND b.startTime >= :afterStart AND " +
+            "(b.startTime > :afterStart OR b.id > :afterId) ORDER BY b.startTime, b.id")
+    List<Long> findPageIdsBySalonAfter(
+            @Param("salonId") Long salonId,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Query("SELECT b.id FROM Booking b WHERE b.customerId = :customerId ORDER BY b.startTime, b.id")
+    List<Long> findPageIdsByCustomer(@Param("customerId") Long customerId, Limit limit);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.customerId = :customerId AND b.startTime >= :afterStart AND " +
+            "(b.startTime > :afterStart OR b.id > :afterId) ORDER BY b.startTime, b.id")
+    List<Long> findPageIdsByCustomerAfter(
+            @Param("customerId") Long customerId,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @EntityGraph(attributePaths = "serviceIds")
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.startTime, b.id")
+    List<Booking> findWithServiceIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Flat rows for the ndjson export, read through a cursor so nothing is held per booking.
+    // Needs useCursorFetch=true on the MySQL url, otherwise Connector/J buffers the whole result.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.shukla.dto.BookingExportRowDTO(b.id, b.salonId, b.customerId, " +
+            "b.startTime, b.endTime, b.status, s) " +
+            "FROM Booking b LEFT JOIN b.serviceIds s WHERE b.salonId = :salonId ORDER BY b.startTime, b.id")
+    Stream<BookingExportRowDTO> streamExportRowsBySalonId(@Param("salonId") Long salonId);
+
+    // Keyset walk over settled (confirmed or cancelled) bookings that ended before :cutoff, for BookingArchiver
+    @Query("SELECT new com.shukla.dto.BookingIntervalDTO(b.id, b.salonId, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.endTime < :cutoff AND b.status IN (com.shukla.domain.BookingStatus.CONFIRMED, " +
+            "com.shukla.domain.BookingStatus.CANCELLED) ORDER BY b.endTime, b.id")
+    List<BookingIntervalDTO> findArchivable(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Query("SELECT new com.shukla.dto.BookingIntervalDTO(b.id, b.salonId, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.endTime < :cutoff AND b.status IN (com.shukla.domain.BookingStatus.CONFIRMED, " +
+            "com.shukla.domain.BookingStatus.CANCELLED) AND b.endTime >= :afterEnd AND " +
+            "(b.endTime > :afterEnd OR b.id > :afterId) ORDER BY b.endTime, b.id")
+    List<BookingIntervalDTO> findArchivableAfter(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterEnd") LocalDateTime afterEnd,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Find bookings by salon and date, as a half-open range so idx_booking_salon_start is usable
+    default List<Booking> findBySalonIdAndDate(Long salonId, LocalDate date) {
+        return findBySalonIdAndStartTimeRange(salonId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    @Query("SELECT b FROM Booking b WHERE b.salonId = :salonId AND " +
+            "b.startTime >= :from AND b.startTime < :to")
+    List<Booking> findBySalonIdAndStartTimeRange(
+            @Param("salonId") Long salonId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 
     // Find bookings by status
     List<Booking> findByStatus(BookingStatus status);
@@ -31,4 +109,34 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
+
+    // Only the columns the interval index needs, so startup does not hydrate serviceIds
+    @Query("SELECT new com.shukla.dto.BookingIntervalDTO(b.id, b.salonId, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.status != com.shukla.domain.BookingStatus.CANCELLED")
+    List<BookingIntervalDTO> findActiveIntervals();
+
+    // Same closed-interval rule as findOverlappingBookings, projected for availability scans
+    @Query("SELECT new com.shukla.dto.BookingIntervalDTO(b.id, b.salonId, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.salonId = :salonId AND " +
+            "b.startTime <= :to AND b.endTime >= :from AND " +
+            "b.status != com.shukla.domain.BookingStatus.CANCELLED")
+    List<BookingIntervalDTO> findActiveIntervalsBetween(
+            @Param("salonId") Long salonId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Report totals recomputed from the bookings table, used to seed and verify SalonReportAggregate
+    String REPORT_TOTALS = "SELECT new com.shukla.model.SalonReportAggregate(b.salonId, COUNT(b), " +
+            "SUM(CASE WHEN b.status = com.shukla.domain.BookingStatus.CANCELLED THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN b.status IN (com.shukla.domain.BookingStatus.PENDING, " +
+            "com.shukla.domain.BookingStatus.CONFIRMED) THEN b.totalPrice ELSE 0L END), " +
+            "SUM(CASE WHEN b.status = com.shukla.domain.BookingStatus.CANCELLED THEN b.totalPrice ELSE 0L END)) " +
+            "FROM Booking b ";
+
+    @Query(REPORT_TOTALS + "WHERE b.salonId = :salonId GROUP BY b.salonId")
+    SalonReportAggregate computeReportTotals(@Param("salonId") Long salonId);
+
+    @Query(REPORT_TOTALS + "GROUP BY b.salonId")
+    List<SalonReportAggregate> computeAllReportTotals();
 }
\ No newline at end of file
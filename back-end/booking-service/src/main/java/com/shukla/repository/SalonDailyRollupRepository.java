@@ -0,0 +1,20 @@
+package com.shukla.repository;
+
+import com.shukla.model.SalonDailyRollup;
+import com.shukla.model.SalonDailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalonDailyRollupRepository extends JpaRepository<SalonDailyRollup, SalonDailyRollupId> {
+
+    List<SalonDailyRollup> findBySalonIdAndDayBetweenOrderByDay(Long salonId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM SalonDailyRollup r WHERE r.salonId = :salonId")
+    int deleteBySalonId(@Param("salonId") Long salonId);
+}
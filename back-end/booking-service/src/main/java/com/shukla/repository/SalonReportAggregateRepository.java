@@ -0,0 +1,26 @@
+package com.shukla.repository;
+
+import com.shukla.model.SalonReportAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SalonReportAggregateRepository extends JpaRepository<SalonReportAggregate, Long> {
+
+    // Applied in the database so concurrent writers never lose an increment
+    @Modifying
+    @Query("UPDATE SalonReportAggregate a SET " +
+            "a.totalBookings = a.totalBookings + :bookings, " +
+            "a.cancelBookings = a.cancelBookings + :cancelled, " +
+            "a.totalEarnings = a.totalEarnings + :earnings, " +
+            "a.totalRefund = a.totalRefund + :refund " +
+            "WHERE a.salonId = :salonId")
+    int increment(
+            @Param("salonId") Long salonId,
+            @Param("bookings") long bookings,
+            @Param("cancelled") long cancelled,
+            @Param("earnings") long earnings,
+            @Param("refund") long refund
+    );
+}
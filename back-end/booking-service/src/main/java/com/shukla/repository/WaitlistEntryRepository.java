@@ -0,0 +1,18 @@
+package com.shukla.repository;
+
+import com.shukla.domain.WaitlistStatus;
+import com.shukla.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @EntityGraph(attributePaths = "serviceIds")
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+    @EntityGraph(attributePaths = "serviceIds")
+    Optional<WaitlistEntry> findWithServiceIdsById(Long id);
+}
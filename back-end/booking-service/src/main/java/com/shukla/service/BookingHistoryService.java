@@ -0,0 +1,10 @@
+package com.shukla.service;
+
+import com.shukla.dto.EnrichedBookingDTO;
+
+import java.util.List;
+
+public interface BookingHistoryService {
+
+    List<EnrichedBookingDTO> getBookingHistory(Long customerId, boolean includeArchived);
+}
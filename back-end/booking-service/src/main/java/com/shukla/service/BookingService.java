@@ -1,17 +1,24 @@
 package com.shukla.service;
 
 import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingDTO;
+import com.shukla.dto.BookingPageDTO;
 import com.shukla.dto.BookingRequest;
+import com.shukla.dto.BookingSlotDTO;
+import com.shukla.dto.DayAvailabilityDTO;
 import com.shukla.dto.SalonDTO;
 import com.shukla.dto.ServiceDTO;
 import com.shukla.dto.UserDTO;
+import com.shukla.hold.SlotHold;
 import com.shukla.model.Booking;
 import com.shukla.model.SalonReport;
+import com.shukla.model.WaitlistEntry;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -21,9 +28,38 @@ public interface BookingService {
                           Set<ServiceDTO> serviceDTOSet) throws Exception;
 
     List<Booking> getBookingsByCustomer(Long customerId);
+    List<Booking> getBookingsByCustomer(Long customerId, boolean includeArchived);
     List<Booking> getBookingsBySalon(Long salonId);
+    List<Booking> getBookingsBySalon(Long salonId, boolean includeArchived);
+    BookingPageDTO getBookingPageByCustomer(Long customerId, String cursor, int size) throws Exception;
+    BookingPageDTO getBookingPageBySalon(Long salonId, String cursor, int size) throws Exception;
+    void exportBookingsBySalon(Long salonId, Consumer<BookingDTO> consumer);
     Booking getBookingById(Long id) throws Exception;
     Booking updateBooking(Long bookingId , BookingStatus status) throws Exception;
     List<Booking> getBookingsByDate(LocalDate date,Long salonId);
-    SalonReport getSalonReport(Long salonId);
+    SalonReport getSalonReport(Long salonId) throws Exception;
+
+    // Reserve a slot in memory during checkout; confirmHold turns it into a booking
+    SlotHold holdSlot(BookingRequest booking,
+                      UserDTO user,
+                      SalonDTO salon,
+                      Set<ServiceDTO> serviceDTOSet) throws Exception;
+    Booking confirmHold(String holdId) throws Exception;
+    void releaseHold(String holdId) throws Exception;
+
+    // Queue for a taken slot; booked straight away (PROMOTED) if the slot is free by now
+    WaitlistEntry joinWaitlist(BookingRequest booking,
+                               UserDTO user,
+                               SalonDTO salon,
+                               Set<ServiceDTO> serviceDTOSet) throws Exception;
+    WaitlistEntry getWaitlistEntry(Long id) throws Exception;
+    WaitlistEntry leaveWaitlist(Long id) throws Exception;
+
+    List<BookingSlotDTO> getBookedSlots(Long salonId, LocalDate date);
+
+    List<DayAvailabilityDTO> getAvailability(SalonDTO salon,
+                                             LocalDate from,
+                                             LocalDate to,
+                                             int duration,
+                                             int step) throws Exception;
 }
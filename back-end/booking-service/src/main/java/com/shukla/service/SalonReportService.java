@@ -0,0 +1,19 @@
+package com.shukla.service;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.SalonReportDriftDTO;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonReport;
+
+import java.util.List;
+
+public interface SalonReportService {
+
+    void onBookingCreated(Booking booking);
+
+    void onStatusChanged(Booking booking, BookingStatus previousStatus);
+
+    SalonReport getSalonReport(Long salonId) throws Exception;
+
+    List<SalonReportDriftDTO> rebuildReports() throws Exception;
+}
@@ -0,0 +1,21 @@
+package com.shukla.service;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.OccupancyHeatmapDTO;
+import com.shukla.dto.SalonRangeReportDTO;
+import com.shukla.model.Booking;
+
+import java.time.LocalDate;
+
+public interface SalonRollupService {
+
+    void onBookingCreated(Booking booking);
+
+    void onStatusChanged(Booking booking, BookingStatus previousStatus);
+
+    SalonRangeReportDTO getRangeReport(Long salonId, LocalDate from, LocalDate to) throws Exception;
+
+    OccupancyHeatmapDTO getOccupancyHeatmap(Long salonId, LocalDate from, LocalDate to) throws Exception;
+
+    int rebuildRollups(Long salonId) throws Exception;
+}
@@ -0,0 +1,134 @@
+package com.shukla.service.impl;
+
+import com.shukla.client.SalonClient;
+import com.shukla.client.ServiceOfferingClient;
+import com.shukla.dto.EnrichedBookingDTO;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.model.Booking;
+import com.shukla.service.BookingHistoryService;
+import com.shukla.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// One request for the customer's booking history page instead of a salon and a service lookup per booking.
+// Salon and service ids are deduplicated, then salon-service and service-offering are asked at the same
+// time, one batched call each (less whatever their caches already hold), on virtual threads. The request
+// takes as long as the slower of the two, at most timeoutMillis; a side that fails or times out leaves
+// its fields empty rather than failing the page.
+@Service
+@Slf4j
+public class BookingHistoryServiceImpl implements BookingHistoryService {
+
+    private final BookingService bookingService;
+    private final SalonClient salonClient;
+    private final ServiceOfferingClient serviceOfferingClient;
+    private final long timeoutMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BookingHistoryServiceImpl(BookingService bookingService,
+                                     SalonClient salonClient,
+                                     ServiceOfferingClient serviceOfferingClient,
+                                     @Value("${booking.history.timeout-ms:3000}") long timeoutMillis) {
+        this.bookingService = bookingService;
+        this.salonClient = salonClient;
+        this.serviceOfferingClient = serviceOfferingClient;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public List<EnrichedBookingDTO> getBookingHistory(Long customerId, boolean includeArchived) {
+        List<Booking> bookings = bookingService.getBookingsByCustomer(customerId, includeArchived);
+
+        Set<Long> salonIds = new HashSet<>();
+        Set<Long> serviceIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            salonIds.add(booking.getSalonId());
+            if (booking.getServiceIds() != null) {
+                serviceIds.addAll(booking.getServiceIds());
+            }
+        }
+        salonIds.remove(null);
+        serviceIds.remove(null);
+
+        CompletableFuture<Map<Long, SalonDTO>> salonsFuture =
+                lookup("salon-service", salonIds, () -> salonClient.getSalonsByIds(salonIds));
+        CompletableFuture<Map<Long, ServiceDTO>> servicesFuture =
+                lookup("service-offering", serviceIds, () -> serviceOfferingClient.findServicesByIds(serviceIds));
+        Map<Long, SalonDTO> salons = salonsFuture.join();
+        Map<Long, ServiceDTO> services = servicesFuture.join();
+
+        return bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStartTime).thenComparing(Booking::getId))
+                .map(booking -> enrich(booking, salons.get(booking.getSalonId()), services))
+                .toList();
+    }
+
+    // Never completes exceptionally: a failure or timeout is logged and answered with an empty map
+    private <T> CompletableFuture<Map<Long, T>> lookup(String downstream, Set<Long> ids, Supplier<Map<Long, T>> call) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        // virtual threads do not inherit the MDC, the correlation id has to be carried over for the RestTemplate call
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+                    if (context != null) {
+                        MDC.setContextMap(context);
+                    }
+                    try {
+                        return call.get();
+                    } finally {
+                        MDC.clear();
+                    }
+                }, executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("booking history enrichment failed downstream={} ids={} error={}",
+                            downstream, ids.size(), e.toString());
+                    return Map.of();
+                });
+    }
+
+    private EnrichedBookingDTO enrich(Booking booking, SalonDTO salon, Map<Long, ServiceDTO> services) {
+        EnrichedBookingDTO dto = new EnrichedBookingDTO();
+        dto.setId(booking.getId());
+        dto.setCustomerId(booking.getCustomerId());
+        dto.setStartTime(booking.getStartTime());
+        dto.setEndTime(booking.getEndTime());
+        dto.setStatus(booking.getStatus());
+        dto.setTotalPrice(booking.getTotalPrice());
+        dto.setSalonId(booking.getSalonId());
+        if (salon != null) {
+            dto.setSalonName(salon.getName());
+            dto.setSalonAddress(salon.getAddress());
+        }
+        Set<Long> serviceIds = booking.getServiceIds() != null ? booking.getServiceIds() : Set.of();
+        dto.setServiceIds(serviceIds);
+        dto.setServices(serviceIds.stream()
+                .map(services::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(ServiceDTO::getId))
+                .toList());
+        return dto;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
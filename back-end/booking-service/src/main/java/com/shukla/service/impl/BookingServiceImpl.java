@@ -1,28 +1,77 @@
 package com.shukla.service.impl;
 
+import com.shukla.client.SalonClient;
+import com.shukla.concurrent.SalonBookingLock;
+import com.shukla.domain.BookingEventType;
 import com.shukla.domain.BookingStatus;
+import com.shukla.domain.WaitlistStatus;
+import com.shukla.dto.BookingCursor;
+import com.shukla.dto.BookingDTO;
+import com.shukla.dto.BookingExportRowDTO;
+import com.shukla.dto.BookingIntervalDTO;
+import com.shukla.dto.BookingPageDTO;
 import com.shukla.dto.BookingRequest;
+import com.shukla.dto.BookingSlotDTO;
+import com.shukla.dto.DayAvailabilityDTO;
 import com.shukla.dto.SalonDTO;
 import com.shukla.dto.ServiceDTO;
 import com.shukla.dto.UserDTO;
+import com.shukla.hold.SlotHold;
+import com.shukla.hold.SlotHoldRegistry;
+import com.shukla.index.AvailabilityCalculator;
+import com.shukla.index.ConcurrencyTree;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.mapper.BookingMapper;
+import com.shukla.model.ArchivedBooking;
 import com.shukla.model.Booking;
+import com.shukla.model.WaitlistEntry;
+import com.shukla.outbox.BookingOutbox;
 import com.shukla.model.SalonReport;
+import com.shukla.repository.ArchivedBookingRepository;
 import com.shukla.repository.BookingRepository;
+import com.shukla.repository.WaitlistEntryRepository;
 import com.shukla.service.BookingService;
+import com.shukla.service.SalonReportService;
+import com.shukla.service.SalonRollupService;
+import com.shukla.waitlist.SalonWaitlist;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
+    private final SalonIntervalIndex salonIntervalIndex;
+    private final SalonBookingLock salonBookingLock;
+    private final SalonReportService salonReportService;
+    private final SalonRollupService salonRollupService;
+    private final BookingOutbox bookingOutbox;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final SalonWaitlist salonWaitlist;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final SalonClient salonClient;
+    private final MeterRegistry meterRegistry;
+
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Override
     public Booking createBooking(BookingRequest booking,
@@ -30,6 +79,18 @@ public class BookingServiceImpl implements BookingService {
                                  SalonDTO salon,
                                  Set<ServiceDTO> serviceDTOSet) throws Exception {
 
+        Booking newBooking = newBooking(booking, user.getId(), salon.getId(), serviceDTOSet);
+
+        // Check and insert under the salon's lock so two requests cannot both pass the check
+        return salonBookingLock.runLockedInTransaction(salon.getId(), () -> {
+            if (!isTimeSlotAvailable(salon, newBooking.getStartTime(), newBooking.getEndTime())) {
+                throw new Exception("Time slot not available. Please choose a different time.");
+            }
+            return saveNewBooking(newBooking, BookingEventType.CREATED);
+        });
+    }
+
+    private Booking newBooking(BookingRequest booking, Long customerId, Long salonId, Set<ServiceDTO> serviceDTOSet) {
         // Calculate total duration
         int totalDuration = serviceDTOSet.stream()
                 .mapToInt(ServiceDTO::getDuration)
@@ -38,11 +99,6 @@ public class BookingServiceImpl implements BookingService {
         LocalDateTime bookingStartTime = booking.getStartTime();
         LocalDateTime bookingEndTime = bookingStartTime.plusMinutes(totalDuration);
 
-        // ✅ FIXED: Better slot availability check
-        if (!isTimeSlotAvailable(salon, bookingStartTime, bookingEndTime)) {
-            throw new Exception("Time slot not available. Please choose a different time.");
-        }
-
         // Calculate total price
         int totalPrice = serviceDTOSet.stream()
                 .mapToInt(ServiceDTO::getPrice)
@@ -52,24 +108,51 @@ public class BookingServiceImpl implements BookingService {
                 .map(ServiceDTO::getId)
                 .collect(Collectors.toSet());
 
-        // Create and save booking
+        // Create booking
         Booking newBooking = new Booking();
-        newBooking.setCustomerId(user.getId());
-        newBooking.setSalonId(salon.getId());
+        newBooking.setCustomerId(customerId);
+        newBooking.setSalonId(salonId);
         newBooking.setServiceIds(serviceIds);
         newBooking.setStatus(BookingStatus.PENDING);
         newBooking.setStartTime(bookingStartTime);
         newBooking.setEndTime(bookingEndTime);
         newBooking.setTotalPrice(totalPrice);
+        return newBooking;
+    }
 
-        return bookingRepository.save(newBooking);
+    // Caller holds the salon lock and has checked the slot
+    private Booking saveNewBooking(Booking newBooking, BookingEventType eventType) throws Exception {
+        Booking savedBooking = bookingRepository.save(newBooking);
+        salonReportService.onBookingCreated(savedBooking);
+        salonRollupService.onBookingCreated(savedBooking);
+        bookingOutbox.record(savedBooking, eventType, null);
+        salonIntervalIndex.onBookingSaved(savedBooking);
+        return savedBooking;
     }
 
+    // booking.slot.check{outcome=available|rejected}, percentile histogram set in application.properties
     public Boolean isTimeSlotAvailable(SalonDTO salonDTO,
                                        LocalDateTime bookingStartTime,
                                        LocalDateTime bookingEndTime) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "rejected";
+        try {
+            checkWorkingHours(salonDTO, bookingStartTime, bookingEndTime);
+
+            if (hasConflict(salonDTO.getId(), salonDTO.capacityOrDefault(), bookingStartTime, bookingEndTime)) {
+                throw new Exception("Time slot conflicts with existing booking. Please choose a different time.");
+            }
 
-        // Check salon working hours
+            outcome = "available";
+            return true;
+        } finally {
+            sample.stop(meterRegistry.timer("booking.slot.check", "outcome", outcome));
+        }
+    }
+
+    private void checkWorkingHours(SalonDTO salonDTO,
+                                   LocalDateTime bookingStartTime,
+                                   LocalDateTime bookingEndTime) throws Exception {
         LocalDateTime salonOpenTime = bookingStartTime.toLocalDate().atTime(salonDTO.getOpenTime());
         LocalDateTime salonCloseTime = bookingStartTime.toLocalDate().atTime(salonDTO.getCloseTime());
 
@@ -77,16 +160,55 @@ public class BookingServiceImpl implements BookingService {
             throw new Exception("Booking time must be within salon's working hours (" +
                     salonDTO.getOpenTime() + " - " + salonDTO.getCloseTime() + ")");
         }
+    }
 
-        // ✅ FIXED: Use repository method for overlapping bookings
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                salonDTO.getId(), bookingStartTime, bookingEndTime);
+    // Open checkout holds occupy their slot just like bookings. A salon with more chairs is only
+    // full once that many bookings and holds run at the same moment somewhere in the window.
+    private boolean hasConflict(Long salonId, int capacity, LocalDateTime startTime, LocalDateTime endTime) {
+        if (capacity <= 1) {
+            return slotHoldRegistry.hasOverlap(salonId, startTime, endTime)
+                    || hasBookingConflict(salonId, startTime, endTime);
+        }
+        List<BookingIntervalDTO> holds = slotHoldRegistry.findOverlapping(salonId, startTime, endTime);
+        if (holds.isEmpty()) {
+            return bookingPeak(salonId, startTime, endTime) >= capacity;
+        }
+        List<BookingIntervalDTO> intervals = new ArrayList<>(activeIntervals(salonId, startTime, endTime));
+        intervals.addAll(holds);
+        return ConcurrencyTree.of(intervals).peak(startTime, endTime) >= capacity;
+    }
 
-        if (!overlappingBookings.isEmpty()) {
-            throw new Exception("Time slot conflicts with existing booking. Please choose a different time.");
+    // Most active bookings running at once in the window, from the index's per-salon tree when it is loaded
+    private int bookingPeak(Long salonId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (salonIntervalIndex.isReady()) {
+            return salonIntervalIndex.peakOverlap(salonId, startTime, endTime);
         }
+        return ConcurrencyTree.of(bookingRepository.findActiveIntervalsBetween(salonId, startTime, endTime))
+                .peak(startTime, endTime);
+    }
+
+    private List<BookingIntervalDTO> activeIntervals(Long salonId, LocalDateTime from, LocalDateTime to) {
+        return salonIntervalIndex.isReady()
+                ? salonIntervalIndex.findOverlapping(salonId, from, to)
+                : bookingRepository.findActiveIntervalsBetween(salonId, from, to);
+    }
 
-        return true;
+    // Paths that start from a booking or hold rather than a SalonDTO; a salon we cannot load gets one chair
+    private int salonCapacity(Long salonId) {
+        try {
+            return salonClient.getSalon(salonId).capacityOrDefault();
+        } catch (Exception e) {
+            log.warn("salon capacity lookup failed salonId={} fallbackCapacity=1 error={}", salonId, e.getMessage());
+            return 1;
+        }
+    }
+
+    // In-memory interval index first, the overlap query only while the index is unavailable
+    private boolean hasBookingConflict(Long salonId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (salonIntervalIndex.isReady()) {
+            return salonIntervalIndex.hasOverlap(salonId, startTime, endTime);
+        }
+        return !bookingRepository.findOverlappingBookings(salonId, startTime, endTime).isEmpty();
     }
 
     @Override
@@ -99,17 +221,344 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findBySalonId(salonId);
     }
 
+    // Archived history is a second, colder read, only made when the caller asks for it
+    @Override
+    public List<Booking> getBookingsByCustomer(Long customerId, boolean includeArchived) {
+        if (!includeArchived) {
+            return getBookingsByCustomer(customerId);
+        }
+        return withArchived(getBookingsByCustomer(customerId), archivedBookingRepository.findByCustomerId(customerId));
+    }
+
+    @Override
+    public List<Booking> getBookingsBySalon(Long salonId, boolean includeArchived) {
+        if (!includeArchived) {
+            return getBookingsBySalon(salonId);
+        }
+        return withArchived(getBookingsBySalon(salonId), archivedBookingRepository.findBySalonId(salonId));
+    }
+
+    private List<Booking> withArchived(List<Booking> live, List<ArchivedBooking> archived) {
+        List<Booking> bookings = new ArrayList<>(live);
+        archived.stream()
+                .map(ArchivedBooking::toBooking)
+                .forEach(bookings::add);
+        return bookings;
+    }
+
+    @Override
+    public BookingPageDTO getBookingPageByCustomer(Long customerId, String cursor, int size) throws Exception {
+        checkPageSize(size);
+        BookingCursor after = BookingCursor.decode(cursor);
+
+        // one extra id tells us whether there is a next page
+        List<Long> ids = after == null
+                ? bookingRepository.findPageIdsByCustomer(customerId, Limit.of(size + 1))
+                : bookingRepository.findPageIdsByCustomerAfter(customerId, after.getStartTime(), after.getId(), Limit.of(size + 1));
+        return toPage(ids, size);
+    }
+
+    @Override
+    public BookingPageDTO getBookingPageBySalon(Long salonId, String cursor, int size) throws Exception {
+        checkPageSize(size);
+        BookingCursor after = BookingCursor.decode(cursor);
+
+        List<Long> ids = after == null
+                ? bookingRepository.findPageIdsBySalon(salonId, Limit.of(size + 1))
+                : bookingRepository.findPageIdsBySalonAfter(salonId, after.getStartTime(), after.getId(), Limit.of(size + 1));
+        return toPage(ids, size);
+    }
+
+    private void checkPageSize(int size) throws Exception {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new Exception("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private BookingPageDTO toPage(List<Long> ids, int size) {
+        if (ids.isEmpty()) {
+            return new BookingPageDTO(List.of(), null);
+        }
+        boolean hasMore = ids.size() > size;
+        List<Booking> bookings = bookingRepository.findWithServiceIdsByIdIn(hasMore ? ids.subList(0, size) : ids);
+
+        String nextCursor = null;
+        if (hasMore) {
+            Booking last = bookings.get(bookings.size() - 1);
+            nextCursor = new BookingCursor(last.getStartTime(), last.getId()).encode();
+        }
+        List<BookingDTO> bookingDTOs = bookings.stream()
+                .map(BookingMapper::toDTO)
+                .toList();
+        return new BookingPageDTO(bookingDTOs, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookingsBySalon(Long salonId, Consumer<BookingDTO> consumer) {
+        // rows arrive grouped by booking (ordered by startTime, id), so one booking is buffered at a time
+        try (Stream<BookingExportRowDTO> rows = bookingRepository.streamExportRowsBySalonId(salonId)) {
+            BookingDTO current = null;
+            for (BookingExportRowDTO row : (Iterable<BookingExportRowDTO>) rows::iterator) {
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = new BookingDTO();
+                    current.setId(row.getId());
+                    current.setSalonId(row.getSalonId());
+                    current.setCustomerId(row.getCustomerId());
+                    current.setStartTime(row.getStartTime());
+                    current.setEndTime(row.getEndTime());
+                    current.setStatus(row.getStatus());
+                    current.setServiceIds(new HashSet<>());
+                }
+                if (row.getServiceId() != null) {
+                    current.getServiceIds().add(row.getServiceId());
+                }
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+    // Falls back to the archive, so links to old bookings keep resolving
     @Override
     public Booking getBookingById(Long id) throws Exception {
-        return bookingRepository.findById(id)
+        Booking booking = bookingRepository.findById(id).orElse(null);
+        if (booking != null) {
+            return booking;
+        }
+        return archivedBookingRepository.findWithServiceIdsById(id)
+                .map(ArchivedBooking::toBooking)
                 .orElseThrow(() -> new Exception("Booking not found with id: " + id));
     }
 
+    // Archived bookings are read-only
+    private Booking getLiveBookingById(Long id) throws Exception {
+        Booking booking = bookingRepository.findById(id).orElse(null);
+        if (booking != null) {
+            return booking;
+        }
+        if (archivedBookingRepository.existsById(id)) {
+            throw new Exception("Booking " + id + " is archived and can no longer be changed");
+        }
+        throw new Exception("Booking not found with id: " + id);
+    }
+
     @Override
     public Booking updateBooking(Long bookingId, BookingStatus status) throws Exception {
-        Booking booking = getBookingById(bookingId);
-        booking.setStatus(status);
-        return bookingRepository.save(booking);
+        Long salonId = getLiveBookingById(bookingId).getSalonId();
+
+        return salonBookingLock.runLockedInTransaction(salonId, () -> {
+            // re-read under the lock so the report sees the status this update replaces,
+            // and so a booking archived in the meantime is not written back
+            Booking booking = getLiveBookingById(bookingId);
+            BookingStatus previousStatus = booking.getStatus();
+            booking.setStatus(status);
+
+            Booking savedBooking = bookingRepository.save(booking);
+            salonReportService.onStatusChanged(savedBooking, previousStatus);
+            salonRollupService.onStatusChanged(savedBooking, previousStatus);
+            if (previousStatus != status) {
+                bookingOutbox.record(savedBooking, BookingEventType.STATUS_CHANGED, previousStatus);
+            }
+            salonIntervalIndex.onBookingSaved(savedBooking);
+            if (previousStatus != BookingStatus.CANCELLED && status == BookingStatus.CANCELLED) {
+                promoteWaitlist(savedBooking);
+            }
+            return savedBooking;
+        });
+    }
+
+    @Override
+    public SlotHold holdSlot(BookingRequest booking,
+                             UserDTO user,
+                             SalonDTO salon,
+                             Set<ServiceDTO> serviceDTOSet) throws Exception {
+        Booking wanted = newBooking(booking, user.getId(), salon.getId(), serviceDTOSet);
+
+        SlotHold hold = new SlotHold();
+        hold.setSalonId(wanted.getSalonId());
+        hold.setCustomerId(wanted.getCustomerId());
+        hold.setStartTime(wanted.getStartTime());
+        hold.setEndTime(wanted.getEndTime());
+        hold.setServiceIds(wanted.getServiceIds());
+        hold.setTotalPrice(wanted.getTotalPrice());
+
+        // same check as a booking, under the same lock, but nothing is written
+        return salonBookingLock.runLocked(salon.getId(), () -> {
+            isTimeSlotAvailable(salon, wanted.getStartTime(), wanted.getEndTime());
+            return slotHoldRegistry.add(hold);
+        });
+    }
+
+    @Override
+    public Booking confirmHold(String holdId) throws Exception {
+        SlotHold hold = slotHoldRegistry.get(holdId);
+        if (hold == null) {
+            throw new Exception("Hold not found or expired: " + holdId);
+        }
+
+        return salonBookingLock.runLockedInTransaction(hold.getSalonId(), () -> {
+            // may have expired or been confirmed while we waited for the lock
+            if (slotHoldRegistry.get(holdId) == null) {
+                throw new Exception("Hold not found or expired: " + holdId);
+            }
+            // the hold kept everyone else out, this only guards against a booking that skipped the check
+            int capacity = salonCapacity(hold.getSalonId());
+            boolean full = capacity <= 1
+                    ? hasBookingConflict(hold.getSalonId(), hold.getStartTime(), hold.getEndTime())
+                    : bookingPeak(hold.getSalonId(), hold.getStartTime(), hold.getEndTime()) >= capacity;
+            if (full) {
+                slotHoldRegistry.remove(holdId);
+                throw new Exception("Time slot conflicts with existing booking. Please choose a different time.");
+            }
+
+            Booking booking = new Booking();
+            booking.setCustomerId(hold.getCustomerId());
+            booking.setSalonId(hold.getSalonId());
+            booking.setServiceIds(new HashSet<>(hold.getServiceIds()));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setStartTime(hold.getStartTime());
+            booking.setEndTime(hold.getEndTime());
+            booking.setTotalPrice(hold.getTotalPrice());
+            Booking savedBooking = saveNewBooking(booking, BookingEventType.CREATED);
+
+            // still under the lock, so the slot is never free between the two
+            slotHoldRegistry.remove(holdId);
+            return savedBooking;
+        });
+    }
+
+    @Override
+    public void releaseHold(String holdId) throws Exception {
+        if (slotHoldRegistry.remove(holdId) == null) {
+            throw new Exception("Hold not found or expired: " + holdId);
+        }
+    }
+
+    @Override
+    public WaitlistEntry joinWaitlist(BookingRequest booking,
+                                      UserDTO user,
+                                      SalonDTO salon,
+                                      Set<ServiceDTO> serviceDTOSet) throws Exception {
+        Booking wanted = newBooking(booking, user.getId(), salon.getId(), serviceDTOSet);
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setSalonId(wanted.getSalonId());
+        entry.setCustomerId(wanted.getCustomerId());
+        entry.setStartTime(wanted.getStartTime());
+        entry.setEndTime(wanted.getEndTime());
+        entry.setServiceIds(new HashSet<>(wanted.getServiceIds()));
+        entry.setTotalPrice(wanted.getTotalPrice());
+        entry.setCreatedAt(LocalDateTime.now());
+
+        return salonBookingLock.runLockedInTransaction(salon.getId(), () -> {
+            checkWorkingHours(salon, wanted.getStartTime(), wanted.getEndTime());
+
+            // the slot may have been freed since the customer saw it taken
+            if (!hasConflict(salon.getId(), salon.capacityOrDefault(), wanted.getStartTime(), wanted.getEndTime())) {
+                Booking savedBooking = saveNewBooking(wanted, BookingEventType.CREATED);
+                entry.setStatus(WaitlistStatus.PROMOTED);
+                entry.setBookingId(savedBooking.getId());
+                return waitlistEntryRepository.save(entry);
+            }
+
+            entry.setStatus(WaitlistStatus.WAITING);
+            WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+            salonWaitlist.onEntryAdded(savedEntry);
+            return savedEntry;
+        });
+    }
+
+    @Override
+    public WaitlistEntry getWaitlistEntry(Long id) throws Exception {
+        return waitlistEntryRepository.findWithServiceIdsById(id)
+                .orElseThrow(() -> new Exception("Waitlist entry not found with id: " + id));
+    }
+
+    @Override
+    public WaitlistEntry leaveWaitlist(Long id) throws Exception {
+        Long salonId = getWaitlistEntry(id).getSalonId();
+
+        return salonBookingLock.runLockedInTransaction(salonId, () -> {
+            WaitlistEntry entry = getWaitlistEntry(id);
+            if (entry.getStatus() != WaitlistStatus.WAITING) {
+                throw new Exception("Waitlist entry " + id + " is already " + entry.getStatus());
+            }
+            entry.setStatus(WaitlistStatus.CANCELLED);
+            WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+            salonWaitlist.onEntryRemoved(savedEntry);
+            return savedEntry;
+        });
+    }
+
+    // Runs inside the cancelling update's lock and transaction. Walks the entries overlapping the freed
+    // interval oldest first and books each one that now fits; later entries also have to clear the ones
+    // booked here, which are not in the interval index until commit.
+    private void promoteWaitlist(Booking cancelled) throws Exception {
+        List<WaitlistEntry> candidates = salonWaitlist.candidates(
+                cancelled.getSalonId(), cancelled.getStartTime(), cancelled.getEndTime());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        int capacity = salonCapacity(cancelled.getSalonId());
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> promoted = new ArrayList<>();
+        for (WaitlistEntry candidate : candidates) {
+            if (!candidate.getStartTime().isBefore(now)
+                    && conflictsExcept(cancelled, promoted, capacity, candidate.getStartTime(), candidate.getEndTime())) {
+                continue;
+            }
+            // change a managed copy, the in-memory entry only goes away once this commits
+            WaitlistEntry entry = getWaitlistEntry(candidate.getId());
+            if (entry.getStartTime().isBefore(now)) {
+                entry.setStatus(WaitlistStatus.EXPIRED);
+                salonWaitlist.onEntryRemoved(waitlistEntryRepository.save(entry));
+                continue;
+            }
+
+            Booking booking = new Booking();
+            booking.setCustomerId(entry.getCustomerId());
+            booking.setSalonId(entry.getSalonId());
+            booking.setServiceIds(new HashSet<>(entry.getServiceIds()));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setStartTime(entry.getStartTime());
+            booking.setEndTime(entry.getEndTime());
+            booking.setTotalPrice(entry.getTotalPrice());
+            Booking savedBooking = saveNewBooking(booking, BookingEventType.PROMOTED_FROM_WAITLIST);
+            promoted.add(savedBooking);
+
+            entry.setStatus(WaitlistStatus.PROMOTED);
+            entry.setBookingId(savedBooking.getId());
+            salonWaitlist.onEntryRemoved(waitlistEntryRepository.save(entry));
+        }
+    }
+
+    private boolean conflictsExcept(Booking cancelled, List<Booking> promoted, int capacity,
+                                    LocalDateTime startTime, LocalDateTime endTime) {
+        // the index still holds the cancelled booking until commit, the query already sees it cancelled
+        List<BookingIntervalDTO> intervals = new ArrayList<>();
+        for (BookingIntervalDTO interval : activeIntervals(cancelled.getSalonId(), startTime, endTime)) {
+            if (!interval.getId().equals(cancelled.getId())) {
+                intervals.add(interval);
+            }
+        }
+        for (Booking booking : promoted) {
+            if (!booking.getStartTime().isAfter(endTime) && !booking.getEndTime().isBefore(startTime)) {
+                intervals.add(new BookingIntervalDTO(booking.getId(), booking.getSalonId(),
+                        booking.getStartTime(), booking.getEndTime()));
+            }
+        }
+        intervals.addAll(slotHoldRegistry.findOverlapping(cancelled.getSalonId(), startTime, endTime));
+
+        if (capacity <= 1) {
+            return !intervals.isEmpty();
+        }
+        return ConcurrencyTree.of(intervals).peak(startTime, endTime) >= capacity;
     }
 
     @Override
@@ -122,33 +571,62 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findBySalonIdAndDate(salonId, date);
     }
 
+    // Each booking of the day with the chairs left at its busiest moment
     @Override
-    public SalonReport getSalonReport(Long salonId) {
-        List<Booking> bookings = getBookingsBySalon(salonId);
-
-        double totalEarnings = bookings.stream()
-                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED ||
-                        booking.getStatus() == BookingStatus.PENDING)
-                .mapToDouble(Booking::getTotalPrice)
-                .sum();
+    public List<BookingSlotDTO> getBookedSlots(Long salonId, LocalDate date) {
+        List<Booking> bookings = getBookingsByDate(date, salonId);
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        int capacity = salonCapacity(salonId);
+        ConcurrencyTree tree = ConcurrencyTree.of(bookings.stream()
+                .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                .map(booking -> new BookingIntervalDTO(booking.getId(), booking.getSalonId(),
+                        booking.getStartTime(), booking.getEndTime()))
+                .toList());
 
-        int totalBookings = bookings.size();
+        return bookings.stream()
+                .map(booking -> {
+                    BookingSlotDTO slotDTO = new BookingSlotDTO();
+                    slotDTO.setStartTime(booking.getStartTime());
+                    slotDTO.setEndTime(booking.getEndTime());
+                    slotDTO.setRemaining(Math.max(0,
+                            capacity - tree.peak(booking.getStartTime(), booking.getEndTime())));
+                    return slotDTO;
+                })
+                .toList();
+    }
 
-        List<Booking> cancelledBookings = bookings.stream()
-                .filter(booking -> booking.getStatus() == BookingStatus.CANCELLED)
-                .collect(Collectors.toList());
+    @Override
+    public SalonReport getSalonReport(Long salonId) throws Exception {
+        return salonReportService.getSalonReport(salonId);
+    }
 
-        double totalRefund = cancelledBookings.stream()
-                .mapToDouble(Booking::getTotalPrice)
-                .sum();
+    @Override
+    public List<DayAvailabilityDTO> getAvailability(SalonDTO salon,
+                                                    LocalDate from,
+                                                    LocalDate to,
+                                                    int duration,
+                                                    int step) throws Exception {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new Exception("Invalid date range");
+        }
+        if (from.plusDays(MAX_AVAILABILITY_DAYS).isBefore(to)) {
+            throw new Exception("Date range cannot be longer than " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        if (duration <= 0 || step <= 0) {
+            throw new Exception("Duration and step must be positive");
+        }
 
-        SalonReport report = new SalonReport();
-        report.setSalonId(salonId);
-        report.setCancelBookings(cancelledBookings.size());
-        report.setTotalBookings(totalBookings);
-        report.setTotalEarnings(totalEarnings);
-        report.setTotalRefund(totalRefund);
+        // One lookup for the whole range, from the interval index when it is loaded
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+        List<BookingIntervalDTO> bookings = new ArrayList<>(salonIntervalIndex.isReady()
+                ? salonIntervalIndex.findOverlapping(salon.getId(), rangeStart, rangeEnd)
+                : bookingRepository.findActiveIntervalsBetween(salon.getId(), rangeStart, rangeEnd));
+        // held slots are not offered either
+        bookings.addAll(slotHoldRegistry.findOverlapping(salon.getId(), rangeStart, rangeEnd));
 
-        return report;
+        return AvailabilityCalculator.calculate(salon, from, to, bookings, duration, step);
     }
 }
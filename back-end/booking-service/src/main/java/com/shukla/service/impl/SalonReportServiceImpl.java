@@ -0,0 +1,159 @@
+package com.shukla.service.impl;
+
+import com.shukla.concurrent.SalonBookingLock;
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.SalonReportDriftDTO;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonReport;
+import com.shukla.model.SalonReportAggregate;
+import com.shukla.repository.ArchivedBookingRepository;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonReportAggregateRepository;
+import com.shukla.service.SalonReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+// Callers must hold the salon's booking lock inside a transaction (SalonBookingLock.runLockedInTransaction)
+@Service
+@RequiredArgsConstructor
+public class SalonReportServiceImpl implements SalonReportService {
+
+    private final SalonReportAggregateRepository aggregateRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SalonBookingLock salonBookingLock;
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        long[] delta = new long[4];
+        delta[0] = 1;
+        addStatus(delta, booking.getStatus(), booking.getTotalPrice(), 1);
+        apply(booking.getSalonId(), delta);
+    }
+
+    @Override
+    public void onStatusChanged(Booking booking, BookingStatus previousStatus) {
+        if (previousStatus == booking.getStatus()) {
+            return;
+        }
+        long[] delta = new long[4];
+        addStatus(delta, previousStatus, booking.getTotalPrice(), -1);
+        addStatus(delta, booking.getStatus(), booking.getTotalPrice(), 1);
+        apply(booking.getSalonId(), delta);
+    }
+
+    @Override
+    public SalonReport getSalonReport(Long salonId) throws Exception {
+        SalonReportAggregate aggregate = aggregateRepository.findById(salonId).orElse(null);
+        if (aggregate == null) {
+            // first read for a salon that has no counters yet, seed them from the bookings table
+            aggregate = salonBookingLock.runLockedInTransaction(salonId, () ->
+                    aggregateRepository.findById(salonId).orElseGet(() -> seed(salonId)));
+        }
+
+        SalonReport report = new SalonReport();
+        report.setSalonId(salonId);
+        report.setTotalBookings(aggregate.getTotalBookings().intValue());
+        report.setCancelBookings(aggregate.getCancelBookings().intValue());
+        report.setTotalEarnings(aggregate.getTotalEarnings().doubleValue());
+        report.setTotalRefund(aggregate.getTotalRefund().doubleValue());
+        return report;
+    }
+
+    @Override
+    public List<SalonReportDriftDTO> rebuildReports() throws Exception {
+        Map<Long, SalonReportAggregate> expectedBySalon = new HashMap<>();
+        for (SalonReportAggregate totals : bookingRepository.computeAllReportTotals()) {
+            expectedBySalon.put(totals.getSalonId(), totals);
+        }
+        for (SalonReportAggregate totals : archivedBookingRepository.computeAllReportTotals()) {
+            expectedBySalon.merge(totals.getSalonId(), totals, SalonReportServiceImpl::sum);
+        }
+
+        TreeSet<Long> salonIds = new TreeSet<>(expectedBySalon.keySet());
+        aggregateRepository.findAll().forEach(aggregate -> salonIds.add(aggregate.getSalonId()));
+
+        List<SalonReportDriftDTO> drift = new ArrayList<>();
+        for (Long salonId : salonIds) {
+            // recompute under the lock so in-flight bookings cannot show up as drift
+            SalonReportDriftDTO salonDrift = salonBookingLock.runLockedInTransaction(salonId, () -> {
+                SalonReportAggregate expected = computeTotals(salonId);
+                SalonReportAggregate actual = aggregateRepository.findById(salonId).orElse(null);
+                if (actual != null && sameTotals(expected, actual)) {
+                    return null;
+                }
+
+                SalonReportDriftDTO result = new SalonReportDriftDTO();
+                result.setSalonId(salonId);
+                result.setExpected(expected);
+                result.setActual(actual == null ? null : copy(actual));
+                aggregateRepository.save(expected);
+                return result;
+            });
+            if (salonDrift != null) {
+                drift.add(salonDrift);
+            }
+        }
+        return drift;
+    }
+
+    private void apply(Long salonId, long[] delta) {
+        int updated = aggregateRepository.increment(salonId, delta[0], delta[1], delta[2], delta[3]);
+        if (updated == 0) {
+            // no counters yet: the table already holds this change, so seeding covers it
+            seed(salonId);
+        }
+    }
+
+    private SalonReportAggregate seed(Long salonId) {
+        return aggregateRepository.save(computeTotals(salonId));
+    }
+
+    // all-time totals span the live table and the archive
+    private SalonReportAggregate computeTotals(Long salonId) {
+        SalonReportAggregate live = totalsOrZero(salonId, bookingRepository.computeReportTotals(salonId));
+        SalonReportAggregate archived = archivedBookingRepository.computeReportTotals(salonId);
+        return archived == null ? live : sum(live, archived);
+    }
+
+    // delta layout: bookings, cancelled, earnings, refund
+    private static void addStatus(long[] delta, BookingStatus status, int price, int sign) {
+        if (status == BookingStatus.PENDING || status == BookingStatus.CONFIRMED) {
+            delta[2] += (long) sign * price;
+        } else if (status == BookingStatus.CANCELLED) {
+            delta[1] += sign;
+            delta[3] += (long) sign * price;
+        }
+    }
+
+    private static SalonReportAggregate totalsOrZero(Long salonId, SalonReportAggregate totals) {
+        return totals != null ? totals : new SalonReportAggregate(salonId, 0L, 0L, 0L, 0L);
+    }
+
+    private static SalonReportAggregate sum(SalonReportAggregate a, SalonReportAggregate b) {
+        return new SalonReportAggregate(a.getSalonId(),
+                a.getTotalBookings() + b.getTotalBookings(),
+                a.getCancelBookings() + b.getCancelBookings(),
+                a.getTotalEarnings() + b.getTotalEarnings(),
+                a.getTotalRefund() + b.getTotalRefund());
+    }
+
+    private static boolean sameTotals(SalonReportAggregate a, SalonReportAggregate b) {
+        return Objects.equals(a.getTotalBookings(), b.getTotalBookings())
+                && Objects.equals(a.getCancelBookings(), b.getCancelBookings())
+                && Objects.equals(a.getTotalEarnings(), b.getTotalEarnings())
+                && Objects.equals(a.getTotalRefund(), b.getTotalRefund());
+    }
+
+    private static SalonReportAggregate copy(SalonReportAggregate aggregate) {
+        return new SalonReportAggregate(aggregate.getSalonId(), aggregate.getTotalBookings(),
+                aggregate.getCancelBookings(), aggregate.getTotalEarnings(), aggregate.getTotalRefund());
+    }
+}
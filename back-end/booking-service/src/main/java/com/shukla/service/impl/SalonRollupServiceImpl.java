@@ -0,0 +1,216 @@
+package com.shukla.service.impl;
+
+import com.shukla.concurrent.SalonBookingLock;
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.DailyReportDTO;
+import com.shukla.dto.OccupancyHeatmapDTO;
+import com.shukla.dto.SalonRangeReportDTO;
+import com.shukla.model.ArchivedBooking;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonDailyRollup;
+import com.shukla.model.SalonDailyRollupId;
+import com.shukla.repository.ArchivedBookingRepository;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonDailyRollupRepository;
+import com.shukla.service.SalonRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Like SalonReportService, writes expect the salon's booking lock and a running transaction
+@Service
+@RequiredArgsConstructor
+public class SalonRollupServiceImpl implements SalonRollupService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final SalonDailyRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SalonBookingLock salonBookingLock;
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        Map<LocalDate, SalonDailyRollup> rows = new HashMap<>();
+        Function<LocalDate, SalonDailyRollup> loader = day -> load(booking.getSalonId(), day);
+
+        SalonDailyRollup startRow = row(rows, loader, booking.getStartTime().toLocalDate());
+        startRow.setTotalBookings(startRow.getTotalBookings() + 1);
+        addStatus(rows, loader, booking, booking.getStatus(), 1);
+        rollupRepository.saveAll(rows.values());
+    }
+
+    @Override
+    public void onStatusChanged(Booking booking, BookingStatus previousStatus) {
+        if (previousStatus == booking.getStatus()) {
+            return;
+        }
+        Map<LocalDate, SalonDailyRollup> rows = new HashMap<>();
+        Function<LocalDate, SalonDailyRollup> loader = day -> load(booking.getSalonId(), day);
+
+        addStatus(rows, loader, booking, previousStatus, -1);
+        addStatus(rows, loader, booking, booking.getStatus(), 1);
+        rollupRepository.saveAll(rows.values());
+    }
+
+    @Override
+    public SalonRangeReportDTO getRangeReport(Long salonId, LocalDate from, LocalDate to) throws Exception {
+        validateRange(from, to);
+
+        SalonRangeReportDTO report = new SalonRangeReportDTO();
+        report.setSalonId(salonId);
+        report.setFrom(from);
+        report.setTo(to);
+
+        long bookings = 0, cancelled = 0, earnings = 0, refund = 0, minutes = 0;
+        List<DailyReportDTO> days = new ArrayList<>();
+        for (SalonDailyRollup row : rollupRepository.findBySalonIdAndDayBetweenOrderByDay(salonId, from, to)) {
+            bookings += row.getTotalBookings();
+            cancelled += row.getCancelBookings();
+            earnings += row.getTotalEarnings();
+            refund += row.getTotalRefund();
+            minutes += row.getBookedMinutes();
+
+            DailyReportDTO day = new DailyReportDTO();
+            day.setDate(row.getDay());
+            day.setTotalBookings(row.getTotalBookings());
+            day.setCancelBookings(row.getCancelBookings());
+            day.setTotalEarnings((double) row.getTotalEarnings());
+            day.setTotalRefund((double) row.getTotalRefund());
+            day.setBookedMinutes(row.getBookedMinutes());
+            days.add(day);
+        }
+
+        report.setTotalBookings(bookings);
+        report.setCancelBookings(cancelled);
+        report.setTotalEarnings((double) earnings);
+        report.setTotalRefund((double) refund);
+        report.setBookedMinutes(minutes);
+        report.setDays(days);
+        return report;
+    }
+
+    @Override
+    public OccupancyHeatmapDTO getOccupancyHeatmap(Long salonId, LocalDate from, LocalDate to) throws Exception {
+        validateRange(from, to);
+
+        long[][] bookedMinutes = new long[7][24];
+        for (SalonDailyRollup row : rollupRepository.findBySalonIdAndDayBetweenOrderByDay(salonId, from, to)) {
+            int weekday = row.getDay().getDayOfWeek().getValue() - 1;
+            int[] hourly = row.getHourlyMinutes();
+            for (int hour = 0; hour < 24; hour++) {
+                bookedMinutes[weekday][hour] += hourly[hour];
+            }
+        }
+
+        int[] weekdayCount = new int[7];
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            weekdayCount[day.getDayOfWeek().getValue() - 1]++;
+        }
+
+        double[][] occupancy = new double[7][24];
+        for (int weekday = 0; weekday < 7; weekday++) {
+            for (int hour = 0; hour < 24; hour++) {
+                occupancy[weekday][hour] = weekdayCount[weekday] == 0 ? 0
+                        : bookedMinutes[weekday][hour] / (60.0 * weekdayCount[weekday]);
+            }
+        }
+
+        OccupancyHeatmapDTO heatmap = new OccupancyHeatmapDTO();
+        heatmap.setSalonId(salonId);
+        heatmap.setFrom(from);
+        heatmap.setTo(to);
+        heatmap.setBookedMinutes(bookedMinutes);
+        heatmap.setOccupancy(occupancy);
+        return heatmap;
+    }
+
+    @Override
+    public int rebuildRollups(Long salonId) throws Exception {
+        return salonBookingLock.runLockedInTransaction(salonId, () -> {
+            rollupRepository.deleteBySalonId(salonId);
+
+            Map<LocalDate, SalonDailyRollup> rows = new HashMap<>();
+            Function<LocalDate, SalonDailyRollup> loader = day -> empty(salonId, day);
+            List<Booking> bookings = new ArrayList<>(bookingRepository.findBySalonId(salonId));
+            archivedBookingRepository.findBySalonId(salonId).stream()
+                    .map(ArchivedBooking::toBooking)
+                    .forEach(bookings::add);
+            for (Booking booking : bookings) {
+                SalonDailyRollup startRow = row(rows, loader, booking.getStartTime().toLocalDate());
+                startRow.setTotalBookings(startRow.getTotalBookings() + 1);
+                addStatus(rows, loader, booking, booking.getStatus(), 1);
+            }
+            rollupRepository.saveAll(rows.values());
+            return rows.size();
+        });
+    }
+
+    // Same split as the all-time report: live bookings earn, cancelled ones refund and free their minutes
+    private void addStatus(Map<LocalDate, SalonDailyRollup> rows,
+                           Function<LocalDate, SalonDailyRollup> loader,
+                           Booking booking,
+                           BookingStatus status,
+                           int sign) {
+        SalonDailyRollup startRow = row(rows, loader, booking.getStartTime().toLocalDate());
+        long price = booking.getTotalPrice();
+
+        if (status == BookingStatus.CANCELLED) {
+            startRow.setCancelBookings(startRow.getCancelBookings() + sign);
+            startRow.setTotalRefund(startRow.getTotalRefund() + sign * price);
+            return;
+        }
+        if (status != BookingStatus.PENDING && status != BookingStatus.CONFIRMED) {
+            return;
+        }
+        startRow.setTotalEarnings(startRow.getTotalEarnings() + sign * price);
+
+        LocalDateTime cursor = booking.getStartTime();
+        while (cursor.isBefore(booking.getEndTime())) {
+            LocalDateTime hourEnd = cursor.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            LocalDateTime sliceEnd = hourEnd.isBefore(booking.getEndTime()) ? hourEnd : booking.getEndTime();
+            int minutes = (int) Duration.between(cursor, sliceEnd).toMinutes();
+
+            SalonDailyRollup row = row(rows, loader, cursor.toLocalDate());
+            row.getHourlyMinutes()[cursor.getHour()] += sign * minutes;
+            row.setBookedMinutes(row.getBookedMinutes() + (long) sign * minutes);
+            cursor = sliceEnd;
+        }
+    }
+
+    private static SalonDailyRollup row(Map<LocalDate, SalonDailyRollup> rows,
+                                        Function<LocalDate, SalonDailyRollup> loader,
+                                        LocalDate day) {
+        return rows.computeIfAbsent(day, loader);
+    }
+
+    private SalonDailyRollup load(Long salonId, LocalDate day) {
+        return rollupRepository.findById(new SalonDailyRollupId(salonId, day))
+                .orElseGet(() -> empty(salonId, day));
+    }
+
+    private static SalonDailyRollup empty(Long salonId, LocalDate day) {
+        SalonDailyRollup rollup = new SalonDailyRollup();
+        rollup.setSalonId(salonId);
+        rollup.setDay(day);
+        return rollup;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) throws Exception {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new Exception("Invalid date range");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new Exception("Date range cannot be longer than " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
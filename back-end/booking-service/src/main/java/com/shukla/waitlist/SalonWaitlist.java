@@ -0,0 +1,136 @@
+package com.shukla.waitlist;
+
+import com.shukla.domain.WaitlistStatus;
+import com.shukla.model.WaitlistEntry;
+import com.shukla.repository.WaitlistEntryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory WAITING entries per salon, keyed by (startTime, id), loaded from the waitlist table at startup.
+// A freed interval only has to look at entries starting within [from - longest wait, to], so finding
+// the candidates for a cancellation is a tree seek plus the entries that actually overlap it.
+// Writers hold the salon's booking lock; changes land after commit, like SalonIntervalIndex.
+@Component
+@RequiredArgsConstructor
+public class SalonWaitlist {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final Map<Long, SalonQueue> salons = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        salons.clear();
+        for (WaitlistEntry entry : waitlistEntryRepository.findByStatus(WaitlistStatus.WAITING)) {
+            queue(entry.getSalonId()).add(entry);
+        }
+    }
+
+    // WAITING entries overlapping [from, to] (closed, as for bookings), oldest first
+    public List<WaitlistEntry> candidates(Long salonId, LocalDateTime from, LocalDateTime to) {
+        SalonQueue queue = salons.get(salonId);
+        return queue == null ? List.of() : queue.overlapping(from, to);
+    }
+
+    public int size(Long salonId) {
+        SalonQueue queue = salons.get(salonId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    public void onEntryAdded(WaitlistEntry entry) {
+        afterCommit(() -> queue(entry.getSalonId()).add(entry));
+    }
+
+    public void onEntryRemoved(WaitlistEntry entry) {
+        afterCommit(() -> queue(entry.getSalonId()).remove(entry));
+    }
+
+    private SalonQueue queue(Long salonId) {
+        return salons.computeIfAbsent(salonId, id -> new SalonQueue());
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private record Key(LocalDateTime startTime, long id) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::startTime).thenComparingLong(Key::id);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    static final class SalonQueue {
+
+        private final NavigableMap<Key, WaitlistEntry> byStart = new TreeMap<>();
+        // entry count per length; the longest one still queued bounds how far before "from" an overlapping
+        // entry can start, and drops back once that entry is promoted or removed
+        private final NavigableMap<Duration, Integer> lengths = new TreeMap<>();
+
+        synchronized void add(WaitlistEntry entry) {
+            WaitlistEntry replaced = byStart.put(new Key(entry.getStartTime(), entry.getId()), entry);
+            if (replaced != null) {
+                lengths.computeIfPresent(length(replaced), (length, count) -> count == 1 ? null : count - 1);
+            }
+            lengths.merge(length(entry), 1, Integer::sum);
+        }
+
+        synchronized void remove(WaitlistEntry entry) {
+            WaitlistEntry removed = byStart.remove(new Key(entry.getStartTime(), entry.getId()));
+            if (removed != null) {
+                lengths.computeIfPresent(length(removed), (length, count) -> count == 1 ? null : count - 1);
+            }
+        }
+
+        synchronized Duration longest() {
+            return lengths.isEmpty() ? Duration.ZERO : lengths.lastKey();
+        }
+
+        private static Duration length(WaitlistEntry entry) {
+            return Duration.between(entry.getStartTime(), entry.getEndTime());
+        }
+
+        synchronized int size() {
+            return byStart.size();
+        }
+
+        synchronized List<WaitlistEntry> overlapping(LocalDateTime from, LocalDateTime to) {
+            Key low = new Key(from.minus(longest()), Long.MIN_VALUE);
+            Key high = new Key(to, Long.MAX_VALUE);
+
+            List<WaitlistEntry> result = new ArrayList<>();
+            for (WaitlistEntry entry : byStart.subMap(low, true, high, true).values()) {
+                if (!entry.getEndTime().isBefore(from)) {
+                    result.add(entry);
+                }
+            }
+            result.sort(Comparator.comparing(WaitlistEntry::getId));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.shukla.archive;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.ArchivedBooking;
+import com.shukla.model.Booking;
+import com.shukla.repository.ArchivedBookingRepository;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonReportAggregateRepository;
+import com.shukla.service.BookingService;
+import com.shukla.service.SalonReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Small batch size so the keyset walk takes several steps
+@SpringBootTest(properties = "booking.archive.batch-size=3")
+class BookingArchiverTest {
+
+    private static final Long SALON_ID = 970L;
+    private static final Long OTHER_SALON_ID = 971L;
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SalonReportService salonReportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private SalonReportAggregateRepository aggregateRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @AfterEach
+    void cleanUp() {
+        for (Long salonId : List.of(SALON_ID, OTHER_SALON_ID)) {
+            bookingRepository.deleteAll(bookingRepository.findBySalonId(salonId));
+            archivedBookingRepository.deleteAll(archivedBookingRepository.findBySalonId(salonId));
+            aggregateRepository.findById(salonId).ifPresent(aggregateRepository::delete);
+        }
+        salonIntervalIndex.rebuild();
+    }
+
+    @Test
+    void movesEndedBookingsAndKeepsThemReadable() throws Exception {
+        List<Booking> old = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            old.add(save(i % 2 == 0 ? SALON_ID : OTHER_SALON_ID, CUTOFF.minusDays(10 - i),
+                    i == 3 ? BookingStatus.CANCELLED : BookingStatus.CONFIRMED));
+        }
+        Booking recent = save(SALON_ID, CUTOFF.plusDays(2), BookingStatus.CONFIRMED);
+        salonIntervalIndex.rebuild();
+        // seed the counters while every booking is still live
+        int totalBefore = bookingService.getSalonReport(SALON_ID).getTotalBookings();
+        bookingService.getSalonReport(OTHER_SALON_ID);
+
+        assertEquals(7, bookingArchiver.archiveBefore(CUTOFF));
+
+        List<Booking> live = bookingRepository.findBySalonId(SALON_ID);
+        assertEquals(List.of(recent.getId()), live.stream().map(Booking::getId).toList());
+        assertEquals(1, salonIntervalIndex.size(SALON_ID));
+        assertEquals(0, salonIntervalIndex.size(OTHER_SALON_ID));
+
+        ArchivedBooking archived = archivedBookingRepository.findWithServiceIdsById(old.get(0).getId()).orElseThrow();
+        assertEquals(Set.of(1L, 2L), archived.getServiceIds());
+        assertEquals(old.get(0).getStartTime(), archived.getStartTime());
+
+        assertEquals(1, bookingService.getBookingsBySalon(SALON_ID).size());
+        assertEquals(5, bookingService.getBookingsBySalon(SALON_ID, true).size());
+        assertEquals(old.get(1).getId(), bookingService.getBookingById(old.get(1).getId()).getId());
+        assertThrows(Exception.class, () -> bookingService.updateBooking(old.get(1).getId(), BookingStatus.CANCELLED));
+
+        // all-time report still counts archived bookings
+        assertEquals(totalBefore, bookingService.getSalonReport(SALON_ID).getTotalBookings());
+        assertTrue(salonReportService.rebuildReports().stream()
+                .noneMatch(drift -> drift.getSalonId().equals(SALON_ID) || drift.getSalonId().equals(OTHER_SALON_ID)));
+
+        assertEquals(0, bookingArchiver.archiveBefore(CUTOFF));
+    }
+
+    @Test
+    void pendingBookingStaysLiveUntilSettled() throws Exception {
+        Booking pending = save(SALON_ID, CUTOFF.minusDays(30), BookingStatus.PENDING);
+        Booking confirmed = save(SALON_ID, CUTOFF.minusDays(20), BookingStatus.CONFIRMED);
+        salonIntervalIndex.rebuild();
+
+        assertEquals(1, bookingArchiver.archiveBefore(CUTOFF));
+        assertEquals(List.of(pending.getId()),
+                bookingRepository.findBySalonId(SALON_ID).stream().map(Booking::getId).toList());
+        assertTrue(archivedBookingRepository.findById(confirmed.getId()).isPresent());
+
+        // the late payment callback still finds it
+        bookingService.updateBooking(pending.getId(), BookingStatus.CONFIRMED);
+        assertEquals(1, bookingArchiver.archiveBefore(CUTOFF));
+        assertTrue(bookingRepository.findBySalonId(SALON_ID).isEmpty());
+    }
+
+    private Booking save(Long salonId, LocalDateTime startTime, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setSalonId(salonId);
+        booking.setCustomerId(1L);
+        booking.setStartTime(startTime);
+        booking.setEndTime(startTime.plusMinutes(45));
+        booking.setStatus(status);
+        booking.setServiceIds(new HashSet<>(Set.of(1L, 2L)));
+        booking.setTotalPrice(300);
+        return bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,239 @@
+package com.shukla.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shukla.BookingServiceApplication;
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import com.shukla.service.SalonReportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Weekend-promotion load: many clients racing for the same few hours at a handful of salons.
+// Starts booking-service on H2 with stubbed salon-service / service-offering, fires concurrent
+// POST /api/bookings (and cancels some of the winners), reports throughput, latency percentiles
+// and rejection rate, then checks the database:
+//   - no two non-cancelled bookings of one salon overlap (closed intervals, as the service defines them)
+//   - every 200 response is a row and every row came from a 200 response
+//   - the maintained salon report counters match a recompute
+// Run: mvn -Pbenchmark test -Dtest=BookingStressHarness
+// Tune with -Dstress.requests, -Dstress.concurrency, -Dstress.salons, -Dstress.window-hours, -Dstress.cancel-rate
+@Tag("benchmark")
+class BookingStressHarness {
+
+    private static final int REQUESTS = Integer.getInteger("stress.requests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("stress.concurrency", 200);
+    private static final int SALONS = Integer.getInteger("stress.salons", 5);
+    private static final int WINDOW_HOURS = Integer.getInteger("stress.window-hours", 3);
+    private static final double CANCEL_RATE = Double.parseDouble(System.getProperty("stress.cancel-rate", "0.1"));
+
+    // every request lands in [10:00, 10:00 + WINDOW_HOURS) on this day, on a 15 minute grid
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2030, 6, 1, 10, 0);
+    private static final long FIRST_SALON = 1000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws Exception {
+        try (DownstreamStub downstream = DownstreamStub.start(0)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingServiceApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:stress;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                            "spring.jpa.show-sql=false",
+                            "logging.level.root=WARN",
+                            "service-offering.url=" + downstream.url(),
+                            "salon-service.url=" + downstream.url())
+                    .run();
+            try {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                Map<String, Object> report = load(baseUrl);
+                report.putAll(verify(context));
+
+                Path output = Path.of("target", "benchmark", "stress.json");
+                Files.createDirectories(output.getParent());
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+                System.out.println("Booking stress: " + report + " -> " + output.toAbsolutePath());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private final Map<Long, BookingStatus> acknowledged = new ConcurrentHashMap<>();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private Map<String, Object> load(String baseUrl) throws Exception {
+        long[] latencies = new long[REQUESTS];
+        Arrays.fill(latencies, -1);
+        AtomicInteger next = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(workers)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < CONCURRENCY; w++) {
+                futures.add(workers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < REQUESTS) {
+                        latencies[i] = book(httpClient, baseUrl);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", REQUESTS);
+        report.put("concurrency", CONCURRENCY);
+        report.put("salons", SALONS);
+        report.put("windowHours", WINDOW_HOURS);
+        report.put("seconds", seconds);
+        report.put("requestsPerSecond", REQUESTS / seconds);
+        report.put("accepted", acknowledged.size());
+        report.put("rejected", rejected.get());
+        report.put("errors", errors.get());
+        report.put("rejectionRate", rejected.get() / (double) REQUESTS);
+        report.put("p50Micros", percentile(sorted, 0.50));
+        report.put("p99Micros", percentile(sorted, 0.99));
+        report.put("p999Micros", percentile(sorted, 0.999));
+        return report;
+    }
+
+    // latency of the booking request in micros, -1 if it failed outright
+    private long book(HttpClient httpClient, String baseUrl) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long salonId = FIRST_SALON + random.nextInt(SALONS);
+        LocalDateTime startTime = WINDOW_START.plusMinutes(15L * random.nextInt(WINDOW_HOURS * 4));
+        long serviceId = 1 + random.nextInt(DownstreamStub.SERVICES.size());
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/bookings?salonId=" + salonId + "&customerId=" + random.nextInt(1, 10_000)))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"startTime\":\"" + startTime + "\",\"serviceIds\":[" + serviceId + "]}"))
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            if (response.statusCode() == 400) {
+                rejected.incrementAndGet();
+            } else if (response.statusCode() == 200) {
+                long bookingId = objectMapper.readTree(response.body()).get("id").asLong();
+                acknowledged.put(bookingId, BookingStatus.PENDING);
+                if (random.nextDouble() < CANCEL_RATE) {
+                    cancel(httpClient, baseUrl, bookingId);
+                }
+            } else {
+                errors.incrementAndGet();
+            }
+            return micros;
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            return -1;
+        }
+    }
+
+    private void cancel(HttpClient httpClient, String baseUrl, long bookingId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/bookings/" + bookingId + "/status?status=CANCELLED"))
+                .timeout(Duration.ofSeconds(30))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            JsonNode booking = objectMapper.readTree(response.body());
+            acknowledged.put(bookingId, BookingStatus.valueOf(booking.get("status").asText()));
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+
+    private Map<String, Object> verify(ConfigurableApplicationContext context) throws Exception {
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        SalonReportService salonReportService = context.getBean(SalonReportService.class);
+
+        int overlaps = 0;
+        int stored = 0;
+        for (long salonId = FIRST_SALON; salonId < FIRST_SALON + SALONS; salonId++) {
+            List<Booking> bookings = bookingRepository.findBySalonId(salonId);
+            stored += bookings.size();
+            for (Booking booking : bookings) {
+                assertEquals(acknowledged.get(booking.getId()), booking.getStatus(),
+                        "booking " + booking.getId() + " does not match what the client was told");
+            }
+
+            List<Booking> active = bookings.stream()
+                    .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                    .sorted(Comparator.comparing(Booking::getStartTime))
+                    .toList();
+            for (int i = 1; i < active.size(); i++) {
+                if (!active.get(i).getStartTime().isAfter(active.get(i - 1).getEndTime())) {
+                    overlaps++;
+                    System.err.println("Overlap at salon " + salonId + ": bookings "
+                            + active.get(i - 1).getId() + " and " + active.get(i).getId());
+                }
+            }
+        }
+        int reportDrift = (int) salonReportService.rebuildReports().stream()
+                .filter(drift -> drift.getSalonId() >= FIRST_SALON && drift.getSalonId() < FIRST_SALON + SALONS)
+                .count();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("storedBookings", stored);
+        result.put("overlaps", overlaps);
+        result.put("salonsWithReportDrift", reportDrift);
+
+        assertEquals(0, overlaps, "overlapping bookings were persisted");
+        assertEquals(acknowledged.size(), stored, "stored bookings differ from acknowledged ones");
+        assertEquals(0, reportDrift, "salon report counters drifted from the bookings table");
+        assertTrue(acknowledged.size() > 0, "no booking was accepted");
+        return result;
+    }
+
+    private long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+    }
+}
@@ -0,0 +1,83 @@
+package com.shukla.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Local stand-in for salon-service and service-offering, answering after a fixed delay.
+// Every salon is open 09:00 - 21:00; services 1, 2 and 3 take 30, 45 and 60 minutes.
+final class DownstreamStub implements AutoCloseable {
+
+    // id -> price, duration
+    static final Map<Long, int[]> SERVICES = Map.of(
+            1L, new int[]{300, 30},
+            2L, new int[]{450, 45},
+            3L, new int[]{600, 60}
+    );
+
+    private final HttpServer server;
+    private final int latencyMs;
+
+    private DownstreamStub(int latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/salons", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/api/salons")) {
+                respond(exchange, "[]");
+                return;
+            }
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            respond(exchange, "{\"id\":" + id + ",\"openTime\":\"09:00:00\",\"closeTime\":\"21:00:00\"}");
+        });
+        server.createContext("/api/service-offering/list/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String body = Arrays.stream(path.substring(path.lastIndexOf('/') + 1).split(","))
+                    .map(Long::valueOf)
+                    .filter(SERVICES::containsKey)
+                    .map(id -> "{\"id\":" + id + ",\"name\":\"Service " + id + "\",\"price\":" + SERVICES.get(id)[0]
+                            + ",\"duration\":" + SERVICES.get(id)[1] + "}")
+                    .collect(Collectors.joining(",", "[", "]"));
+            respond(exchange, body);
+        });
+        server.start();
+    }
+
+    static DownstreamStub start(int latencyMs) throws IOException {
+        return new DownstreamStub(latencyMs);
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.shukla.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shukla.BookingServiceApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Booking creation throughput at 1k concurrent clients, Tomcat on platform threads vs virtual threads.
+// Salon-service and service-offering are local stubs that answer after a fixed delay, standing in for the
+// blocking downstream round trips (and payment-service's Razorpay/Stripe calls) that tie up request threads.
+// The service-offering cache is disabled so every booking makes that blocking call.
+// Run: mvn -Pbenchmark test -Dtest=VirtualThreadThroughputBenchmark
+// Tune with -Dbenchmark.clients, -Dbenchmark.seconds, -Dbenchmark.warmup-seconds, -Dbenchmark.downstream-latency-ms
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 15);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmup-seconds", 5);
+    private static final int DOWNSTREAM_LATENCY_MS = Integer.getInteger("benchmark.downstream-latency-ms", 50);
+    private static final int SALONS = 500;
+
+    @Test
+    void bookingThroughputWithAndWithoutVirtualThreads() throws Exception {
+        try (DownstreamStub downstream = DownstreamStub.start(DOWNSTREAM_LATENCY_MS)) {
+            Map<String, Object> results = new LinkedHashMap<>();
+            results.put("clients", CLIENTS);
+            results.put("seconds", SECONDS);
+            results.put("downstreamLatencyMs", DOWNSTREAM_LATENCY_MS);
+            results.put("platformThreads", run(false, downstream));
+            results.put("virtualThreads", run(true, downstream));
+
+            Path output = Path.of("target", "benchmark", "virtual-threads.json");
+            Files.createDirectories(output.getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), results);
+            System.out.println("Virtual thread benchmark: " + results + " -> " + output.toAbsolutePath());
+        }
+    }
+
+    private Map<String, Object> run(boolean virtualThreads, DownstreamStub downstream) throws Exception {
+        String downstreamUrl = downstream.url();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + virtualThreads + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "service-offering.url=" + downstreamUrl,
+                        "service-offering.cache.max-size=0",
+                        "salon-service.url=" + downstreamUrl)
+                .run();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            load(clients, httpClient, baseUrl, WARMUP_SECONDS);
+            Map<String, Object> result = load(clients, httpClient, baseUrl, SECONDS);
+            result.put("requestThreads", virtualThreads ? "virtual" : "platform (server.tomcat.threads.max=200)");
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Object> load(ExecutorService clients, HttpClient httpClient, String baseUrl, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(clients.submit(() -> client(httpClient, baseUrl, deadline)));
+        }
+
+        long ok = 0;
+        long rejected = 0;
+        long failed = 0;
+        List<Long> latencies = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            long[] stats = future.get();
+            ok += stats[0];
+            rejected += stats[1];
+            failed += stats[2];
+            for (int i = 3; i < stats.length; i++) {
+                latencies.add(stats[i]);
+            }
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requestsPerSecond", (ok + rejected) / (double) seconds);
+        result.put("created", ok);
+        result.put("rejected", rejected);
+        result.put("failed", failed);
+        result.put("p50Ms", percentile(sorted, 0.50));
+        result.put("p99Ms", percentile(sorted, 0.99));
+        return result;
+    }
+
+    // ok, rejected, failed, then one latency in ms per answered request
+    private long[] client(HttpClient httpClient, String baseUrl, long deadline) {
+        long ok = 0;
+        long rejected = 0;
+        long failed = 0;
+        long[] latencies = new long[64];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 9, 0)
+                    .plusDays(random.nextInt(365))
+                    .plusMinutes(30L * random.nextInt(22));
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/api/bookings?salonId=" + (1 + random.nextInt(SALONS))
+                            + "&customerId=" + (1 + random.nextInt(10_000))))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"startTime\":\"" + startTime + "\",\"serviceIds\":[1]}"))
+                    .build();
+
+            long start = System.nanoTime();
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    ok++;
+                } else if (status == 400) {
+                    // slot already taken
+                    rejected++;
+                } else {
+                    failed++;
+                    continue;
+                }
+            } catch (Exception e) {
+                failed++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        long[] stats = new long[3 + count];
+        stats[0] = ok;
+        stats[1] = rejected;
+        stats[2] = failed;
+        System.arraycopy(latencies, 0, stats, 3, count);
+        return stats;
+    }
+
+    private long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+    }
+}
@@ -0,0 +1,166 @@
+package com.shukla.client;
+
+import com.shukla.dto.SalonDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// salon-service is replaced by a local HTTP stub serving /api/salons and /api/salons/{id}
+class SalonClientTest {
+
+    private final Map<Long, String> hours = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    // when set, /api/salons computes its body and then waits for listReleased before sending it
+    private volatile CountDownLatch listReleased;
+    private final CountDownLatch listComputed = new CountDownLatch(1);
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private SalonClient salonClient;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        hours.put(1L, "09:00:00,21:00:00");
+        hours.put(2L, "10:00:00,18:00:00");
+
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/api/salons", this::handle);
+        stubExecutor = Executors.newCachedThreadPool();
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        salonClient = new SalonClient(new RestTemplate(), "http://localhost:" + stub.getAddress().getPort());
+        salonClient.warm();
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void warmedSalonsAreServedFromMemory() throws Exception {
+        SalonDTO salon = salonClient.getSalon(2L);
+
+        assertEquals(LocalTime.of(10, 0), salon.getOpenTime());
+        assertEquals(LocalTime.of(18, 0), salon.getCloseTime());
+        assertEquals(List.of("/api/salons"), requests);
+    }
+
+    @Test
+    void salonCreatedAfterWarmUpIsLoadedOnce() throws Exception {
+        hours.put(3L, "08:00:00,12:00:00");
+
+        salonClient.getSalon(3L);
+        salonClient.getSalon(3L);
+
+        assertEquals(List.of("/api/salons", "/api/salons/3"), requests);
+    }
+
+    @Test
+    void refreshPicksUpChangedHours() throws Exception {
+        hours.put(1L, "11:00:00,15:00:00");
+        salonClient.refresh(1L);
+
+        assertEquals(LocalTime.of(11, 0), salonClient.getSalon(1L).getOpenTime());
+    }
+
+    @Test
+    void fullRefreshDropsSalonsNoLongerListed() throws Exception {
+        hours.remove(2L);
+        salonClient.refreshAll();
+
+        assertThrows(Exception.class, () -> salonClient.getSalon(2L));
+        assertEquals(List.of("/api/salons", "/api/salons", "/api/salons/2"), requests);
+    }
+
+    @Test
+    void slowFullRefreshKeepsWhatWasLoadedWhileItRan() throws Exception {
+        listReleased = new CountDownLatch(1);
+        Thread fullRefresh = new Thread(salonClient::refreshAll);
+        fullRefresh.start();
+        listComputed.await(5, TimeUnit.SECONDS);
+
+        // both answered while the older list is still on its way
+        hours.put(1L, "11:00:00,15:00:00");
+        salonClient.refresh(1L);
+        hours.put(3L, "08:00:00,12:00:00");
+        salonClient.getSalon(3L);
+        listReleased.countDown();
+        fullRefresh.join(5000);
+
+        assertEquals(LocalTime.of(11, 0), salonClient.getSalon(1L).getOpenTime());
+        assertEquals(LocalTime.of(8, 0), salonClient.getSalon(3L).getOpenTime());
+        assertEquals(List.of("/api/salons", "/api/salons", "/api/salons/1", "/api/salons/3"), requests);
+    }
+
+    @Test
+    void lastKnownValueSurvivesSalonServiceOutage() throws Exception {
+        stub.stop(0);
+        salonClient.refresh(1L);
+        salonClient.refreshAll();
+
+        assertEquals(LocalTime.of(21, 0), salonClient.getSalon(1L).getCloseTime());
+        assertThrows(Exception.class, () -> salonClient.getSalon(4L));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.add(path);
+
+        String body;
+        int status = 200;
+        if (path.equals("/api/salons")) {
+            body = hours.keySet().stream()
+                    .map(this::toJson)
+                    .collect(Collectors.joining(",", "[", "]"));
+            CountDownLatch release = listReleased;
+            if (release != null) {
+                listComputed.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        } else {
+            Long id = Long.valueOf(path.substring(path.lastIndexOf('/') + 1));
+            body = hours.containsKey(id) ? toJson(id) : "{\"error\":\"Salon not exist\"}";
+            status = hours.containsKey(id) ? 200 : 500;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private String toJson(Long id) {
+        String[] openClose = hours.get(id).split(",");
+        return "{\"id\":" + id + ",\"name\":\"Salon " + id + "\",\"openTime\":\"" + openClose[0]
+                + "\",\"closeTime\":\"" + openClose[1] + "\"}";
+    }
+}
@@ -0,0 +1,221 @@
+package com.shukla.client;
+
+import com.shukla.dto.ServiceDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonDailyRollupRepository;
+import com.shukla.repository.SalonReportAggregateRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// service-offering is replaced by a local HTTP stub that answers /api/service-offering/list/{ids};
+// the same stub serves the booking salon for salon-service
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServiceOfferingClientTest {
+
+    private static final Long SALON_ID = 950L;
+
+    // id -> price, duration
+    private static final Map<Long, int[]> CATALOG = Map.of(
+            1L, new int[]{250, 30},
+            2L, new int[]{400, 60},
+            3L, new int[]{150, 15}
+    );
+
+    private static HttpServer stub;
+    private static final List<Set<Long>> requests = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ServiceOfferingClient serviceOfferingClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonReportAggregateRepository aggregateRepository;
+
+    @Autowired
+    private SalonDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/api/service-offering/list/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            Set<Long> ids = Arrays.stream(path.substring(path.lastIndexOf('/') + 1).split(","))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet());
+            requests.add(ids);
+
+            String body = ids.stream()
+                    .filter(CATALOG::containsKey)
+                    .map(id -> "{\"id\":" + id + ",\"name\":\"Service " + id + "\",\"price\":" + CATALOG.get(id)[0]
+                            + ",\"duration\":" + CATALOG.get(id)[1] + ",\"salonId\":" + SALON_ID + "}")
+                    .collect(Collectors.joining(",", "[", "]"));
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+        stub.createContext("/api/salons", exchange -> {
+            byte[] bytes = ("{\"id\":" + SALON_ID + ",\"openTime\":\"09:00:00\",\"closeTime\":\"21:00:00\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().endsWith("/" + SALON_ID) ? 200 : 404, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void stubUrl(DynamicPropertyRegistry registry) {
+        registry.add("service-offering.url", ServiceOfferingClientTest::stubBaseUrl);
+        registry.add("salon-service.url", ServiceOfferingClientTest::stubBaseUrl);
+    }
+
+    private static String stubBaseUrl() {
+        return "http://localhost:" + stub.getAddress().getPort();
+    }
+
+    @BeforeEach
+    void resetCache() {
+        serviceOfferingClient.evictAll();
+        requests.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+        aggregateRepository.findById(SALON_ID).ifPresent(aggregateRepository::delete);
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.deleteBySalonId(SALON_ID));
+        salonIntervalIndex.rebuild();
+    }
+
+    @Test
+    void missesAreBatchedAndHitsAreServedFromCache() throws Exception {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        serviceOfferingClient.getServicesByIds(Set.of(1L, 2L));
+        Set<ServiceDTO> services = serviceOfferingClient.getServicesByIds(Set.of(1L, 2L, 3L));
+
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(3L)), requests);
+        assertEquals(3, services.size());
+        assertEquals(2, cacheGets("hit") - hits);
+        assertEquals(3, cacheGets("miss") - misses);
+    }
+
+    @Test
+    void evictionEndpointForcesRefetch() throws Exception {
+        serviceOfferingClient.getServicesByIds(Set.of(1L, 2L));
+
+        mockMvc.perform(delete("/api/bookings/cache/services/{serviceId}", 1L))
+                .andExpect(status().isNoContent());
+        serviceOfferingClient.getServicesByIds(Set.of(1L, 2L));
+
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(1L)), requests);
+    }
+
+    @Test
+    void unknownServiceIsRejectedAndNotCached() {
+        assertThrows(Exception.class, () -> serviceOfferingClient.getServicesByIds(Set.of(1L, 99L)));
+        assertThrows(Exception.class, () -> serviceOfferingClient.getServicesByIds(Set.of(99L)));
+
+        assertEquals(List.of(Set.of(1L, 99L), Set.of(99L)), requests);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() throws Exception {
+        AtomicLong nanos = new AtomicLong();
+        ServiceOfferingClient client = new ServiceOfferingClient(new RestTemplate(), new SimpleMeterRegistry(),
+                stubBaseUrl(), Duration.ofMinutes(10), 100, nanos::get);
+
+        client.getServicesByIds(Set.of(2L));
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(9));
+        client.getServicesByIds(Set.of(2L));
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        client.getServicesByIds(Set.of(2L));
+
+        assertEquals(List.of(Set.of(2L), Set.of(2L)), requests);
+    }
+
+    @Test
+    void bookingUsesRealPriceAndDuration() throws Exception {
+        mockMvc.perform(post("/api/bookings")
+                        .param("salonId", String.valueOf(SALON_ID))
+                        .param("customerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startTime\":\"2025-06-02T10:00:00\",\"serviceIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPrice").value(650))
+                .andExpect(jsonPath("$.endTime").value("2025-06-02T11:30:00"));
+
+        assertEquals(List.of(Set.of(1L, 2L)), requests);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ServiceOfferingClient.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
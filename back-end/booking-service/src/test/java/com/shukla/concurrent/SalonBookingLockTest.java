@@ -0,0 +1,137 @@
+package com.shukla.concurrent;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import com.shukla.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs on the database overlap query, the path with the widest check-then-insert window
+@SpringBootTest(properties = "booking.interval-index.enabled=false")
+class SalonBookingLockTest {
+
+    private static final Long SALON_ID = 900L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+    }
+
+    @Test
+    void concurrentRequestsForOneSalonNeverPersistOverlaps() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    // 09:00 - 12:00 window, so most attempts collide
+                    LocalDateTime startTime = DAY.plusHours(9).plusMinutes(random.nextInt(12) * 15);
+                    try {
+                        bookingService.createBooking(request(startTime), customer(), salon(), Set.of(service()));
+                    } catch (Exception ignored) {
+                        // rejected as a conflict, which is the expected outcome for most attempts
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Booking> active = bookingRepository.findBySalonId(SALON_ID).stream()
+                .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                .toList();
+
+        assertFalse(active.isEmpty());
+        for (int i = 0; i < active.size(); i++) {
+            for (int j = i + 1; j < active.size(); j++) {
+                Booking a = active.get(i);
+                Booking b = active.get(j);
+                boolean overlaps = !a.getStartTime().isAfter(b.getEndTime())
+                        && !a.getEndTime().isBefore(b.getStartTime());
+                assertFalse(overlaps, "overlapping bookings " + a.getId() + " and " + b.getId());
+            }
+        }
+        assertTrue(meterRegistry.get("booking.lock.wait").timer().count() >= threads * attemptsPerThread);
+    }
+
+    @Test
+    void stripesAreSharedByKeyAndPowerOfTwo() {
+        StripedLock stripedLock = new StripedLock(100);
+
+        assertEquals(128, stripedLock.size());
+        assertSame(stripedLock.get(42L), stripedLock.get(42L));
+    }
+
+    private BookingRequest request(LocalDateTime startTime) {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+        return request;
+    }
+
+    private UserDTO customer() {
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        return user;
+    }
+
+    private SalonDTO salon() {
+        SalonDTO salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        return salon;
+    }
+
+    private ServiceDTO service() {
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(399);
+        service.setDuration(45);
+        return service;
+    }
+}
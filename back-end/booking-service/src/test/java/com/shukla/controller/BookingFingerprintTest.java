@@ -0,0 +1,43 @@
+package com.shukla.controller;
+
+import com.shukla.dto.BookingRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class BookingFingerprintTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Test
+    void retryMatchesWhateverOrderItsServiceIdsArriveIn() {
+        String first = BookingController.fingerprint(7L, 1L, request(List.of(3L, 1000L, 2L)));
+        String retry = BookingController.fingerprint(7L, 1L, request(List.of(1000L, 2L, 3L)));
+
+        assertEquals(first, retry);
+    }
+
+    @Test
+    void differentRequestsDiffer() {
+        String fingerprint = BookingController.fingerprint(7L, 1L, request(List.of(1L, 2L)));
+
+        assertNotEquals(fingerprint, BookingController.fingerprint(7L, 1L, request(List.of(1L))));
+        assertNotEquals(fingerprint, BookingController.fingerprint(8L, 1L, request(List.of(1L, 2L))));
+        assertNotEquals(fingerprint, BookingController.fingerprint(7L, 2L, request(List.of(1L, 2L))));
+        BookingRequest later = request(List.of(1L, 2L));
+        later.setStartTime(START.plusHours(1));
+        assertNotEquals(fingerprint, BookingController.fingerprint(7L, 1L, later));
+    }
+
+    private static BookingRequest request(List<Long> serviceIds) {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(START);
+        request.setServiceIds(new LinkedHashSet<>(serviceIds));
+        return request;
+    }
+}
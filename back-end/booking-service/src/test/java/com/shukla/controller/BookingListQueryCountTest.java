@@ -0,0 +1,95 @@
+package com.shukla.controller;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Locks in one SQL statement per list request, however many bookings and service ids there are
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+class BookingListQueryCountTest {
+
+    private static final Long SALON_ID = 930L;
+    private static final Long CUSTOMER_ID = 9300L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Booking booking = new Booking();
+            booking.setSalonId(SALON_ID);
+            booking.setCustomerId(CUSTOMER_ID);
+            booking.setStartTime(LocalDateTime.of(2025, 4, 1, 9, 0).plusDays(i));
+            booking.setEndTime(LocalDateTime.of(2025, 4, 1, 9, 45).plusDays(i));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setServiceIds(new HashSet<>(Set.of(1L, 2L, 3L + i)));
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+    }
+
+    @Test
+    void salonListUsesSingleStatement() throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get("/api/bookings/salon/{salonId}", SALON_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(40))
+                .andExpect(jsonPath("$[0].serviceIds.length()").value(3));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void customerListUsesSingleStatement() throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get("/api/bookings/customer/{customerId}", CUSTOMER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(40));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.shukla.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+class BookingPaginationTest {
+
+    private static final Long SALON_ID = 940L;
+    private static final Long CUSTOMER_ID = 9400L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> expectedOrder;
+
+    private Map<Long, Set<Long>> expectedServiceIds;
+
+    @BeforeEach
+    void seed() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Booking booking = new Booking();
+            booking.setSalonId(SALON_ID);
+            booking.setCustomerId(CUSTOMER_ID);
+            // inserted newest first, and every third start time repeats so the id tie-break matters
+            LocalDateTime startTime = LocalDateTime.of(2025, 5, 1, 9, 0).plusHours(20 - (i / 3) * 3);
+            booking.setStartTime(startTime);
+            booking.setEndTime(startTime.plusMinutes(45));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setServiceIds(i % 4 == 0 ? new HashSet<>() : new HashSet<>(Set.of(1L, 100L + i)));
+            bookings.add(booking);
+        }
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        expectedServiceIds = saved.stream()
+                .collect(Collectors.toMap(Booking::getId, Booking::getServiceIds));
+        expectedOrder = saved.stream()
+                .sorted(Comparator.comparing(Booking::getStartTime).thenComparing(Booking::getId))
+                .map(Booking::getId)
+                .toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+    }
+
+    @Test
+    void salonPagesWalkTheWholeHistoryInOrder() throws Exception {
+        assertEquals(expectedOrder, walk("/api/bookings/salon/{id}/page", SALON_ID));
+    }
+
+    @Test
+    void customerPagesWalkTheWholeHistoryInOrder() throws Exception {
+        assertEquals(expectedOrder, walk("/api/bookings/customer/{id}/page", CUSTOMER_ID));
+    }
+
+    @Test
+    void listEndpointIsOrdered() throws Exception {
+        JsonNode list = objectMapper.readTree(mockMvc.perform(get("/api/bookings/salon/{salonId}", SALON_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        List<Long> ids = new ArrayList<>();
+        list.forEach(node -> ids.add(node.get("id").asLong()));
+        assertEquals(expectedOrder, ids);
+    }
+
+    @Test
+    void badCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/bookings/salon/{salonId}/page", SALON_ID).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/bookings/salon/{salonId}/page", SALON_ID).param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportStreamsOneBookingPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/bookings/salon/{salonId}/export", SALON_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode booking = objectMapper.readTree(line);
+            Long id = booking.get("id").asLong();
+            Set<Long> serviceIds = new HashSet<>();
+            booking.get("serviceIds").forEach(serviceId -> serviceIds.add(serviceId.asLong()));
+            assertEquals(expectedServiceIds.get(id), serviceIds);
+            ids.add(id);
+        }
+        assertEquals(expectedOrder, ids);
+    }
+
+    private List<Long> walk(String path, Long id) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            var request = get(path, id).param("size", "5");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            // page of ids, then those bookings with their serviceIds
+            assertTrue(statistics.getPrepareStatementCount() <= 2);
+            page.get("bookings").forEach(booking -> ids.add(booking.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        return ids;
+    }
+}
@@ -0,0 +1,132 @@
+package com.shukla.hold;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import com.shukla.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SlotHoldCheckoutTest {
+
+    private static final Long SALON_ID = 990L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 5, 6, 0, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+        salonIntervalIndex.rebuild();
+    }
+
+    @Test
+    void heldSlotIsTakenUntilConfirmedIntoABooking() throws Exception {
+        SlotHold hold = bookingService.holdSlot(request(DAY.plusHours(10)), customer(1L), salon(), Set.of(service()));
+
+        assertThrows(Exception.class, () -> bookingService.createBooking(
+                request(DAY.plusHours(10).plusMinutes(30)), customer(2L), salon(), Set.of(service())));
+        assertThrows(Exception.class, () -> bookingService.holdSlot(
+                request(DAY.plusHours(9).plusMinutes(30)), customer(2L), salon(), Set.of(service())));
+        assertTrue(bookingService.getAvailability(salon(), DAY.toLocalDate(), DAY.toLocalDate(), 45, 15).get(0)
+                .getStartTimes().stream().noneMatch(time -> time.equals(LocalTime.of(10, 0))));
+        assertTrue(bookingRepository.findBySalonId(SALON_ID).isEmpty());
+
+        Booking booking = bookingService.confirmHold(hold.getId());
+        assertEquals(1L, booking.getCustomerId());
+        assertEquals(DAY.plusHours(10), booking.getStartTime());
+        assertEquals(BookingStatus.PENDING, booking.getStatus());
+        assertEquals(1, bookingRepository.findBySalonId(SALON_ID).size());
+
+        assertThrows(Exception.class, () -> bookingService.confirmHold(hold.getId()));
+    }
+
+    @Test
+    void holdAndWaitlistWithoutServicesAreRejected() throws Exception {
+        String body = "{\"startTime\":\"2030-05-06T10:00:00\",\"serviceIds\":[]}";
+
+        for (String path : List.of("/api/bookings/holds", "/api/bookings/waitlist")) {
+            mockMvc.perform(post(path).param("salonId", SALON_ID.toString()).param("customerId", "1")
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("serviceIds is required"));
+        }
+        assertEquals(0, slotHoldRegistry.size());
+    }
+
+    @Test
+    void releasedHoldFreesTheSlot() throws Exception {
+        SlotHold hold = bookingService.holdSlot(request(DAY.plusHours(14)), customer(1L), salon(), Set.of(service()));
+        bookingService.releaseHold(hold.getId());
+
+        Booking booking = bookingService.createBooking(request(DAY.plusHours(14)), customer(2L), salon(), Set.of(service()));
+        assertEquals(2L, booking.getCustomerId());
+        assertThrows(Exception.class, () -> bookingService.confirmHold(hold.getId()));
+        assertEquals(0, slotHoldRegistry.size());
+    }
+
+    private BookingRequest request(LocalDateTime startTime) {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+        return request;
+    }
+
+    private UserDTO customer(Long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+
+    private SalonDTO salon() {
+        SalonDTO salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        return salon;
+    }
+
+    private ServiceDTO service() {
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(300);
+        service.setDuration(45);
+        return service;
+    }
+}
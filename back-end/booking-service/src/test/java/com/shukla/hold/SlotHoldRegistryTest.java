@@ -0,0 +1,100 @@
+package com.shukla.hold;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotHoldRegistryTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2030, 5, 6, 10, 0);
+
+    @Test
+    void wheelFiresOnTheFirstTickAtOrAfterTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule("soon", 250);
+        // more than one revolution (800 ms) away, shares a bucket with "soon"
+        wheel.schedule("later", 1050);
+        wheel.schedule("past", -500);
+
+        assertEquals(List.of("past"), wheel.advance(100));
+        assertEquals(List.of(), wheel.advance(299));
+        assertEquals(List.of("soon"), wheel.advance(300));
+        assertEquals(List.of(), wheel.advance(1000));
+        assertEquals(List.of("later"), wheel.advance(1100));
+    }
+
+    @Test
+    void holdsBlockTheirSlotUntilTheyExpire() {
+        MutableClock clock = new MutableClock();
+        SlotHoldRegistry registry = new SlotHoldRegistry(new SimpleMeterRegistry(), Duration.ofMinutes(10), 1000, 64, clock);
+
+        SlotHold first = registry.add(hold(SLOT));
+        clock.advance(Duration.ofMinutes(5));
+        SlotHold second = registry.add(hold(SLOT.plusHours(2)));
+
+        assertTrue(registry.hasOverlap(1L, SLOT.plusMinutes(30), SLOT.plusMinutes(50)));
+        assertFalse(registry.hasOverlap(1L, SLOT.plusMinutes(46), SLOT.plusMinutes(60)));
+        assertFalse(registry.hasOverlap(2L, SLOT, SLOT.plusMinutes(30)));
+
+        clock.advance(Duration.ofMinutes(5));
+        // past its TTL but not yet swept: already invisible
+        assertNull(registry.get(first.getId()));
+        assertFalse(registry.hasOverlap(1L, SLOT, SLOT.plusMinutes(30)));
+
+        assertEquals(1, registry.expire());
+        assertEquals(1, registry.size());
+        assertNotNull(registry.get(second.getId()));
+
+        // released holds are skipped when their tick comes round
+        registry.remove(second.getId());
+        clock.advance(Duration.ofMinutes(10));
+        assertEquals(0, registry.expire());
+        assertEquals(0, registry.size());
+    }
+
+    private SlotHold hold(LocalDateTime startTime) {
+        SlotHold hold = new SlotHold();
+        hold.setSalonId(1L);
+        hold.setCustomerId(1L);
+        hold.setStartTime(startTime);
+        hold.setEndTime(startTime.plusMinutes(45));
+        return hold;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
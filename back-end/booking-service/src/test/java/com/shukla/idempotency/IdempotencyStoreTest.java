@@ -0,0 +1,118 @@
+package com.shukla.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyStore store = new IdempotencyStore(meterRegistry,
+            Duration.ofMinutes(10), 100, 5000, nanos::get);
+
+    @Test
+    void duplicateKeyReplaysTheFirstResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<?> first = store.execute("k1", "a", () -> ResponseEntity.ok(calls.incrementAndGet()));
+        ResponseEntity<?> second = store.execute("k1", "a", () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, first.getBody());
+        assertEquals(1, second.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, meterRegistry.counter("idempotency.requests", "outcome", "replayed").count());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        store.execute("k1", "a", () -> ResponseEntity.ok("first"));
+
+        ResponseEntity<?> other = store.execute("k1", "b", () -> ResponseEntity.ok("second"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, other.getStatusCode());
+        assertEquals(1, meterRegistry.counter("idempotency.requests", "outcome", "key-reused").count());
+    }
+
+    @Test
+    void failuresAreNotKeptSoTheRetryRunsAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute("k1", "a", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.badRequest().body("slot taken");
+        });
+        ResponseEntity<?> retry = store.execute("k1", "a", () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstInsteadOfRunningTwice() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<ResponseEntity<?>> first = executor.submit(() -> store.execute("k1", "a", () -> {
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok(calls.incrementAndGet());
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            List<Future<ResponseEntity<?>>> duplicates = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                duplicates.add(executor.submit(() -> store.execute("k1", "a",
+                        () -> ResponseEntity.ok(calls.incrementAndGet()))));
+            }
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).getBody());
+            for (Future<ResponseEntity<?>> duplicate : duplicates) {
+                assertEquals(1, duplicate.get(5, TimeUnit.SECONDS).getBody());
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keysExpireAfterTheTtl() {
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("k1", "a", () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        ResponseEntity<?> later = store.execute("k1", "a", () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        assertEquals(2, later.getBody());
+        assertEquals(1, store.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
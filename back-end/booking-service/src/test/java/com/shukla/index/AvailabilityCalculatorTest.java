@@ -0,0 +1,76 @@
+package com.shukla.index;
+
+import com.shukla.dto.BookingIntervalDTO;
+import com.shukla.dto.DayAvailabilityDTO;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.SlotAvailabilityDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityCalculatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    void freeStartTimesRespectOpeningHoursAndBookings() {
+        SalonDTO salon = salon(LocalTime.of(9, 0), LocalTime.of(12, 0));
+        BookingIntervalDTO booking = new BookingIntervalDTO(1L, 1L,
+                DAY.atTime(10, 0), DAY.atTime(10, 45));
+
+        List<DayAvailabilityDTO> result = AvailabilityCalculator.calculate(
+                salon, DAY, DAY, List.of(booking), 45, 15);
+
+        List<LocalTime> startTimes = result.get(0).getStartTimes();
+        // 09:15 would end exactly at 10:00, which the overlap rule treats as a conflict
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(11, 0), LocalTime.of(11, 15)), startTimes);
+    }
+
+    @Test
+    void bookingAcrossMidnightBlocksBothDays() {
+        SalonDTO salon = salon(LocalTime.of(0, 0), LocalTime.of(23, 0));
+        BookingIntervalDTO booking = new BookingIntervalDTO(1L, 1L,
+                DAY.atTime(22, 30), DAY.plusDays(1).atTime(0, 30));
+
+        List<DayAvailabilityDTO> result = AvailabilityCalculator.calculate(
+                salon, DAY, DAY.plusDays(1), List.of(booking), 30, 30);
+
+        assertEquals(2, result.size());
+        assertFalse(result.get(0).getStartTimes().contains(LocalTime.of(22, 0)));
+        assertFalse(result.get(1).getStartTimes().contains(LocalTime.of(0, 0)));
+        assertTrue(result.get(1).getStartTimes().contains(LocalTime.of(1, 0)));
+    }
+
+    @Test
+    void salonWithSeveralChairsStaysOpenUntilEveryChairIsTaken() {
+        SalonDTO salon = salon(LocalTime.of(9, 0), LocalTime.of(12, 0));
+        salon.setCapacity(2);
+        List<BookingIntervalDTO> bookings = List.of(
+                new BookingIntervalDTO(1L, 1L, DAY.atTime(10, 0), DAY.atTime(10, 45)),
+                new BookingIntervalDTO(2L, 1L, DAY.atTime(10, 30), DAY.atTime(11, 15)));
+
+        DayAvailabilityDTO day = AvailabilityCalculator.calculate(
+                salon, DAY, DAY, bookings, 30, 30).get(0);
+
+        // both chairs are only taken between 10:30 and 10:45
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(11, 0),
+                LocalTime.of(11, 30)), day.getStartTimes());
+        assertEquals(List.of(2, 1, 1, 2), day.getSlots().stream()
+                .map(SlotAvailabilityDTO::getRemaining)
+                .toList());
+    }
+
+    private SalonDTO salon(LocalTime open, LocalTime close) {
+        SalonDTO salon = new SalonDTO();
+        salon.setId(1L);
+        salon.setOpenTime(open);
+        salon.setCloseTime(close);
+        return salon;
+    }
+}
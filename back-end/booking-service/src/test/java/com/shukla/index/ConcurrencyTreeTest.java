@@ -0,0 +1,72 @@
+package com.shukla.index;
+
+import com.shukla.dto.BookingIntervalDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyTreeTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Test
+    void peakCountsClosedIntervalsAndTheGapsBetweenEndpoints() {
+        ConcurrencyTree tree = ConcurrencyTree.of(List.of(
+                interval(1L, 10, 0, 11, 0),
+                interval(2L, 10, 30, 12, 0),
+                interval(3L, 11, 0, 11, 30)));
+
+        // 11:00 is shared by all three, the overlap rule counts touching ends
+        assertEquals(3, tree.peak(DAY.plusHours(11), DAY.plusHours(11)));
+        assertEquals(2, tree.peak(DAY.plusHours(10).plusMinutes(40), DAY.plusHours(10).plusMinutes(50)));
+        assertEquals(1, tree.peak(DAY.plusHours(11).plusMinutes(45), DAY.plusHours(13)));
+        assertEquals(0, tree.peak(DAY.plusHours(8), DAY.plusHours(9)));
+        assertEquals(0, tree.peak(DAY.plusHours(12).plusMinutes(1), DAY.plusHours(13)));
+        assertEquals(3, tree.peak(DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void matchesABruteForceCountOnRandomIntervals() {
+        Random random = new Random(7);
+        List<BookingIntervalDTO> intervals = new ArrayList<>();
+        for (long id = 0; id < 200; id++) {
+            int start = random.nextInt(600);
+            intervals.add(new BookingIntervalDTO(id, 1L, DAY.plusMinutes(start),
+                    DAY.plusMinutes(start + 15 + random.nextInt(90))));
+        }
+        ConcurrencyTree tree = ConcurrencyTree.of(intervals);
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(720);
+            int to = from + random.nextInt(60);
+            assertEquals(bruteForcePeak(intervals, from, to),
+                    tree.peak(DAY.plusMinutes(from), DAY.plusMinutes(to)), "window " + from + "-" + to);
+        }
+    }
+
+    // every endpoint is on a whole minute, so checking each minute finds the peak
+    private int bruteForcePeak(List<BookingIntervalDTO> intervals, int from, int to) {
+        int peak = 0;
+        for (int minute = from; minute <= to; minute++) {
+            LocalDateTime instant = DAY.plusMinutes(minute);
+            int count = 0;
+            for (BookingIntervalDTO interval : intervals) {
+                if (!interval.getStartTime().isAfter(instant) && !interval.getEndTime().isBefore(instant)) {
+                    count++;
+                }
+            }
+            peak = Math.max(peak, count);
+        }
+        return peak;
+    }
+
+    private BookingIntervalDTO interval(Long id, int startHour, int startMinute, int endHour, int endMinute) {
+        return new BookingIntervalDTO(id, 1L, DAY.plusHours(startHour).plusMinutes(startMinute),
+                DAY.plusHours(endHour).plusMinutes(endMinute));
+    }
+}
@@ -0,0 +1,117 @@
+package com.shukla.index;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(SalonIntervalIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SalonIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+    private static final long SALONS = 4;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    private final Random random = new Random(42);
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+    }
+
+    @Test
+    void matchesOverlapQueryOnRandomBookings() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            bookings.add(randomBooking());
+        }
+        bookings = bookingRepository.saveAll(bookings);
+        salonIntervalIndex.rebuild();
+
+        assertTrue(salonIntervalIndex.isReady());
+        assertAgreesWithQuery(1500);
+
+        // status changes and new bookings go through the same hook the service uses
+        for (int i = 0; i < 150; i++) {
+            Booking booking = bookings.get(random.nextInt(bookings.size()));
+            booking.setStatus(BookingStatus.values()[random.nextInt(BookingStatus.values().length)]);
+            salonIntervalIndex.onBookingSaved(bookingRepository.save(booking));
+        }
+        for (int i = 0; i < 100; i++) {
+            salonIntervalIndex.onBookingSaved(bookingRepository.save(randomBooking()));
+        }
+
+        assertAgreesWithQuery(1500);
+    }
+
+    @Test
+    void touchingIntervalsCountAsOverlap() {
+        Booking booking = booking(1L, BASE, BASE.plusMinutes(45), BookingStatus.PENDING);
+        bookingRepository.save(booking);
+        salonIntervalIndex.rebuild();
+
+        assertEquals(isOverlappingInDb(1L, BASE.plusMinutes(45), BASE.plusMinutes(90)),
+                salonIntervalIndex.hasOverlap(1L, BASE.plusMinutes(45), BASE.plusMinutes(90)));
+        assertEquals(isOverlappingInDb(1L, BASE.minusMinutes(45), BASE),
+                salonIntervalIndex.hasOverlap(1L, BASE.minusMinutes(45), BASE));
+        assertFalse(salonIntervalIndex.hasOverlap(2L, BASE, BASE.plusMinutes(45)));
+    }
+
+    private void assertAgreesWithQuery(int queries) {
+        for (int i = 0; i < queries; i++) {
+            long salonId = 1 + random.nextInt((int) SALONS);
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(5 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(5 + random.nextInt(180));
+
+            assertEquals(isOverlappingInDb(salonId, start, end),
+                    salonIntervalIndex.hasOverlap(salonId, start, end),
+                    "salon " + salonId + " " + start + " - " + end);
+        }
+    }
+
+    private boolean isOverlappingInDb(long salonId, LocalDateTime start, LocalDateTime end) {
+        return !bookingRepository.findOverlappingBookings(salonId, start, end).isEmpty();
+    }
+
+    private Booking randomBooking() {
+        LocalDateTime start = BASE.plusMinutes(random.nextInt(5 * 24 * 60));
+        LocalDateTime end = start.plusMinutes(15 + random.nextInt(120));
+        BookingStatus status = random.nextInt(5) == 0 ? BookingStatus.CANCELLED : BookingStatus.PENDING;
+        return booking(1 + random.nextInt((int) SALONS), start, end, status);
+    }
+
+    private Booking booking(long salonId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setSalonId(salonId);
+        booking.setCustomerId(7L);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(status);
+        booking.setServiceIds(new HashSet<>());
+        booking.setTotalPrice(399);
+        return booking;
+    }
+}
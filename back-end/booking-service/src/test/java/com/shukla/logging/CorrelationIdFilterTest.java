@@ -0,0 +1,87 @@
+package com.shukla.logging;
+
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class CorrelationIdFilterTest {
+
+    @Test
+    void incomingIdIsUsedForTheRequestAndEchoed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        new CorrelationIdFilter(0).doFilter(request, response, capturing(CorrelationIdFilter.MDC_KEY, seen));
+
+        assertEquals("abc-123", seen.get());
+        assertEquals("abc-123", response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void missingOrUnsafeIdIsReplaced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "forged\nlevel=ERROR");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new CorrelationIdFilter(0).doFilter(request, response, new MockFilterChain());
+
+        assertNotNull(response.getHeader(CorrelationIdFilter.HEADER));
+        assertNotEquals("forged\nlevel=ERROR", response.getHeader(CorrelationIdFilter.HEADER));
+    }
+
+    @Test
+    void upstreamSamplingDecisionWins() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.SAMPLED_HEADER, "true");
+        AtomicReference<String> sampled = new AtomicReference<>();
+
+        new CorrelationIdFilter(0).doFilter(request, new MockHttpServletResponse(),
+                capturing(CorrelationIdFilter.SAMPLED_MDC_KEY, sampled));
+
+        assertEquals("true", sampled.get());
+        assertNull(MDC.get(CorrelationIdFilter.SAMPLED_MDC_KEY));
+    }
+
+    @Test
+    void interceptorForwardsTheCurrentIdDownstream() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new CorrelationIdInterceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://salon-service/api/salons/1"))
+                .andExpect(header(CorrelationIdFilter.HEADER, "abc-123"))
+                .andExpect(header(CorrelationIdFilter.SAMPLED_HEADER, "false"))
+                .andRespond(withSuccess());
+
+        MDC.put(CorrelationIdFilter.MDC_KEY, "abc-123");
+        try {
+            restTemplate.getForObject("http://salon-service/api/salons/1", String.class);
+        } finally {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        }
+        server.verify();
+    }
+
+    // records what the MDC held while the request was being handled
+    private static MockFilterChain capturing(String key, AtomicReference<String> into) {
+        return new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) -> into.set(MDC.get(key)));
+    }
+}
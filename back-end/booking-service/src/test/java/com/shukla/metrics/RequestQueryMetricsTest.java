@@ -0,0 +1,76 @@
+package com.shukla.metrics;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestQueryMetricsTest {
+
+    private static final Long SALON_ID = 1200L;
+    private static final String SALON_URI = "/api/bookings/salon/{salonId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+    }
+
+    @Test
+    void salonListIsRecordedAsOneStatementAndOneLoadPerBooking() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Booking booking = new Booking();
+            booking.setSalonId(SALON_ID);
+            booking.setCustomerId(12000L);
+            booking.setStartTime(LocalDateTime.of(2025, 5, 1, 9, 0).plusDays(i));
+            booking.setEndTime(LocalDateTime.of(2025, 5, 1, 9, 45).plusDays(i));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setServiceIds(new HashSet<>(Set.of(1L, 2L)));
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+
+        double statementsBefore = total("hibernate.request.statements");
+        double loadsBefore = total("hibernate.request.entity.loads");
+
+        mockMvc.perform(get(SALON_URI, SALON_ID)).andExpect(status().isOk());
+
+        assertEquals(1, total("hibernate.request.statements") - statementsBefore);
+        assertEquals(6, total("hibernate.request.entity.loads") - loadsBefore);
+    }
+
+    private double total(String name) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("method", "GET", "uri", SALON_URI)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,346 @@
+package com.shukla.outbox;
+
+import com.shukla.domain.BookingEventType;
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingEventDTO;
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.model.Booking;
+import com.shukla.model.OutboxEvent;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.OutboxEventRepository;
+import com.shukla.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    private static final Long SALON_A = 960L;
+    private static final Long SALON_B = 961L;
+    // written straight into the outbox by the tests below, with no booking behind them
+    private static final Long SALON_BLOCKED = 962L;
+    private static final Long SALON_OTHER = 963L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 7, 7, 0, 0);
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    // In-process subscriber; fails the next delivery for failSalon once when set
+    static class RecordingListener implements BookingEventListener {
+
+        final List<List<BookingEventDTO>> batches = new CopyOnWriteArrayList<>();
+        volatile Long failSalon;
+
+        @Override
+        public void onEvents(List<BookingEventDTO> events) throws Exception {
+            if (events.get(0).getSalonId().equals(failSalon)) {
+                failSalon = null;
+                throw new Exception("subscriber down");
+            }
+            batches.add(events);
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void drain() throws Exception {
+        // events left by other test classes sharing the database
+        outboxRelay.publishPending();
+        listener.batches.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_A));
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_B));
+        salonIntervalIndex.rebuild();
+        outboxEventRepository.deleteAll(outboxEventRepository.findAll().stream()
+                .filter(event -> event.getSalonId().equals(SALON_BLOCKED) || event.getSalonId().equals(SALON_OTHER))
+                .toList());
+    }
+
+    @Test
+    void eventsArePublishedOncePerSalonInWriteOrder() throws Exception {
+        Booking first = create(SALON_A, DAY.plusHours(9));
+        create(SALON_B, DAY.plusHours(9));
+        Booking second = create(SALON_A, DAY.plusHours(11));
+        bookingService.updateBooking(first.getId(), BookingStatus.CANCELLED);
+        bookingService.updateBooking(second.getId(), BookingStatus.CONFIRMED);
+
+        assertEquals(5, outboxRelay.publishPending());
+        assertEquals(0, outboxRelay.publishPending());
+
+        List<BookingEventDTO> salonA = eventsFor(SALON_A);
+        assertEquals(4, salonA.size());
+        assertEquals(List.of(first.getId(), second.getId(), first.getId(), second.getId()),
+                salonA.stream().map(BookingEventDTO::getBookingId).toList());
+        assertEquals(BookingEventType.STATUS_CHANGED, salonA.get(2).getType());
+        assertEquals(BookingStatus.PENDING, salonA.get(2).getPreviousStatus());
+        assertEquals(BookingStatus.CANCELLED, salonA.get(2).getStatus());
+        assertIncreasingIds(salonA);
+        assertEquals(1, eventsFor(SALON_B).size());
+    }
+
+    @Test
+    void failedSalonIsRetriedWithoutHoldingBackOthers() throws Exception {
+        Booking booking = create(SALON_A, DAY.plusHours(9));
+        create(SALON_B, DAY.plusHours(9));
+        bookingService.updateBooking(booking.getId(), BookingStatus.CONFIRMED);
+
+        MutableClock clock = new MutableClock();
+        OutboxRelay relay = relay(100, listener, new SimpleMeterRegistry(), clock);
+
+        listener.failSalon = SALON_A;
+        assertEquals(1, relay.publishPending());
+        assertTrue(eventsFor(SALON_A).isEmpty());
+        assertEquals(1, eventsFor(SALON_B).size());
+
+        // backing off until retry-initial has passed
+        assertEquals(0, relay.publishPending());
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(2, relay.publishPending());
+        List<BookingEventDTO> salonA = eventsFor(SALON_A);
+        assertEquals(List.of(BookingEventType.CREATED, BookingEventType.STATUS_CHANGED),
+                salonA.stream().map(BookingEventDTO::getType).toList());
+        assertIncreasingIds(salonA);
+    }
+
+    @Test
+    void blockedSalonWithBacklogLargerThanBatchDoesNotStarveOthers() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            outbox(SALON_BLOCKED, i);
+        }
+        outbox(SALON_OTHER, 1);
+        outbox(SALON_OTHER, 2);
+        List<BookingEventDTO> delivered = new CopyOnWriteArrayList<>();
+        OutboxRelay relay = relay(2, blockingListener(delivered), new SimpleMeterRegistry(), new MutableClock());
+
+        assertEquals(2, relay.publishPending());
+        assertEquals(List.of(SALON_OTHER, SALON_OTHER), delivered.stream().map(BookingEventDTO::getSalonId).toList());
+        assertEquals(0, relay.publishPending());
+    }
+
+    @Test
+    void unreadablePayloadIsParkedWithoutBlockingItsSalon() throws Exception {
+        OutboxEvent unreadable = outbox(SALON_OTHER, 1);
+        unreadable.setPayload("{not json");
+        outboxEventRepository.save(unreadable);
+        outbox(SALON_OTHER, 2);
+        List<BookingEventDTO> delivered = new CopyOnWriteArrayList<>();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxRelay relay = relay(100, blockingListener(delivered), meterRegistry, new MutableClock());
+
+        assertEquals(1, relay.publishPending());
+        assertEquals(List.of(2L), delivered.stream().map(BookingEventDTO::getBookingId).toList());
+        assertNotNull(outboxEventRepository.findById(unreadable.getId()).orElseThrow().getParkedAt());
+        assertEquals(1, meterRegistry.counter("booking.outbox.parked").count());
+        assertEquals(0, relay.publishPending());
+    }
+
+    @Test
+    void failingSalonBacksOffButIsNeverGivenUpOn() throws Exception {
+        OutboxEvent first = outbox(SALON_BLOCKED, 1);
+        outbox(SALON_BLOCKED, 2);
+        AtomicBoolean subscriberDown = new AtomicBoolean(true);
+        List<BookingEventDTO> delivered = new CopyOnWriteArrayList<>();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MutableClock clock = new MutableClock();
+        OutboxRelay relay = relay(100, events -> {
+            if (subscriberDown.get()) {
+                throw new Exception("subscriber down");
+            }
+            delivered.addAll(events);
+        }, meterRegistry, clock);
+
+        relay.publishPending();
+        double failed = 2;
+        // retried 1s, 2s and 4s after each failure, then every 8s (retry-max), never earlier
+        for (long seconds : new long[] {1, 2, 4, 8, 8, 8}) {
+            clock.advance(Duration.ofSeconds(seconds).minusMillis(1));
+            relay.publishPending();
+            assertEquals(failed, meterRegistry.counter("booking.outbox.failed").count());
+            clock.advance(Duration.ofMillis(1));
+            relay.publishPending();
+            failed += 2;
+            assertEquals(failed, meterRegistry.counter("booking.outbox.failed").count());
+        }
+
+        OutboxEvent retried = outboxEventRepository.findById(first.getId()).orElseThrow();
+        assertNull(retried.getParkedAt());
+        assertEquals(7, retried.getAttempts());
+        assertEquals(0, meterRegistry.counter("booking.outbox.parked").count());
+        assertEquals(1, meterRegistry.get("booking.outbox.backing-off").gauge().value());
+
+        subscriberDown.set(false);
+        clock.advance(Duration.ofSeconds(8));
+        assertEquals(2, relay.publishPending());
+        assertEquals(List.of(1L, 2L), delivered.stream().map(BookingEventDTO::getBookingId).toList());
+        assertEquals(0, meterRegistry.get("booking.outbox.backing-off").gauge().value());
+    }
+
+    @Test
+    void rejectedBookingLeavesNoEvent() throws Exception {
+        create(SALON_A, DAY.plusHours(9));
+        long before = outboxEventRepository.count();
+
+        assertThrows(Exception.class, () -> create(SALON_A, DAY.plusHours(9).plusMinutes(15)));
+
+        assertEquals(before, outboxEventRepository.count());
+    }
+
+    // a subscriber that is down for SALON_BLOCKED and records everything else
+    private BookingEventListener blockingListener(List<BookingEventDTO> delivered) {
+        return events -> {
+            if (events.get(0).getSalonId().equals(SALON_BLOCKED)) {
+                throw new Exception("subscriber down");
+            }
+            delivered.addAll(events);
+        };
+    }
+
+    // retry-initial 1s, retry-max 8s
+    private OutboxRelay relay(int batchSize, BookingEventListener listener, MeterRegistry meterRegistry, Clock clock) {
+        StaticListableBeanFactory listeners = new StaticListableBeanFactory(Map.of("listener", listener));
+        return new OutboxRelay(outboxEventRepository, objectMapper, new RestTemplate(), meterRegistry,
+                listeners.getBeanProvider(BookingEventListener.class), List.of(), batchSize, 7,
+                Duration.ofSeconds(1), Duration.ofSeconds(8), clock);
+    }
+
+    private OutboxEvent outbox(Long salonId, long bookingId) throws Exception {
+        BookingEventDTO payload = new BookingEventDTO();
+        payload.setType(BookingEventType.CREATED);
+        payload.setSalonId(salonId);
+        payload.setBookingId(bookingId);
+
+        OutboxEvent event = new OutboxEvent();
+        event.setSalonId(salonId);
+        event.setBookingId(bookingId);
+        event.setEventType(BookingEventType.CREATED);
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        event.setCreatedAt(LocalDateTime.now());
+        return outboxEventRepository.save(event);
+    }
+
+    private List<BookingEventDTO> eventsFor(Long salonId) {
+        List<BookingEventDTO> events = new ArrayList<>();
+        for (List<BookingEventDTO> batch : listener.batches) {
+            // every batch carries a single salon
+            assertEquals(1, new HashSet<>(batch.stream().map(BookingEventDTO::getSalonId).toList()).size());
+            if (batch.get(0).getSalonId().equals(salonId)) {
+                events.addAll(batch);
+            }
+        }
+        return events;
+    }
+
+    private void assertIncreasingIds(List<BookingEventDTO> events) {
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getEventId() > events.get(i - 1).getEventId());
+        }
+    }
+
+    private Booking create(Long salonId, LocalDateTime startTime) throws Exception {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+
+        SalonDTO salon = new SalonDTO();
+        salon.setId(salonId);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(300);
+        service.setDuration(45);
+
+        return bookingService.createBooking(request, user, salon, Set.of(service));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
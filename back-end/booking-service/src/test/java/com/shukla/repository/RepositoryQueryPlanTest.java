@@ -0,0 +1,148 @@
+package com.shukla.repository;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingExportRowDTO;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonDailyRollupId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Runs EXPLAIN on the SQL behind every per-salon / per-customer repository query and fails on a table scan.
+// findActiveIntervals, computeAllReportTotals and findAll read the whole table on purpose and are left out.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.shukla.repository.SqlCapture")
+class RepositoryQueryPlanTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonReportAggregateRepository aggregateRepository;
+
+    @Autowired
+    private SalonDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Booking booking = new Booking();
+            booking.setSalonId((long) (i % 20));
+            booking.setCustomerId((long) (i % 50));
+            booking.setStartTime(BASE.plusHours(i));
+            booking.setEndTime(BASE.plusHours(i).plusMinutes(45));
+            booking.setStatus(i % 7 == 0 ? BookingStatus.CANCELLED : BookingStatus.PENDING);
+            booking.setServiceIds(new HashSet<>(List.of(1L)));
+            bookings.add(booking);
+        }
+        bookingRepository.saveAllAndFlush(bookings);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() throws Exception {
+        LocalDateTime from = BASE.plusDays(2);
+        LocalDateTime to = BASE.plusDays(3);
+
+        assertIndexed("findByCustomerId", () -> bookingRepository.findByCustomerId(3L));
+        assertIndexed("findBySalonId", () -> bookingRepository.findBySalonId(3L));
+        assertIndexed("findBySalonIdAndDate", () -> bookingRepository.findBySalonIdAndDate(3L, from.toLocalDate()));
+        assertIndexed("findByStatus", () -> bookingRepository.findByStatus(BookingStatus.CANCELLED));
+        assertIndexed("findOverlappingBookings", () -> bookingRepository.findOverlappingBookings(3L, from, to));
+        assertIndexed("findActiveIntervalsBetween", () -> bookingRepository.findActiveIntervalsBetween(3L, from, to));
+        assertIndexed("computeReportTotals", () -> bookingRepository.computeReportTotals(3L));
+        assertIndexed("findPageIdsBySalon", () -> bookingRepository.findPageIdsBySalon(3L, Limit.of(20)));
+        assertIndexed("findPageIdsBySalonAfter", () -> bookingRepository.findPageIdsBySalonAfter(3L, from, 10L, Limit.of(20)));
+        assertIndexed("findPageIdsByCustomer", () -> bookingRepository.findPageIdsByCustomer(3L, Limit.of(20)));
+        assertIndexed("findPageIdsByCustomerAfter", () -> bookingRepository.findPageIdsByCustomerAfter(3L, from, 10L, Limit.of(20)));
+        assertIndexed("findWithServiceIdsByIdIn", () -> bookingRepository.findWithServiceIdsByIdIn(List.of(1L, 2L, 3L)));
+        assertIndexed("findArchivable", () -> bookingRepository.findArchivable(from, Limit.of(20)));
+        assertIndexed("findArchivableAfter", () -> bookingRepository.findArchivableAfter(to, from, 10L, Limit.of(20)));
+        assertIndexed("archived.findBySalonId", () -> archivedBookingRepository.findBySalonId(3L));
+        assertIndexed("archived.findByCustomerId", () -> archivedBookingRepository.findByCustomerId(3L));
+        assertIndexed("archived.computeReportTotals", () -> archivedBookingRepository.computeReportTotals(3L));
+        assertIndexed("streamExportRowsBySalonId", () -> {
+            try (Stream<BookingExportRowDTO> rows = bookingRepository.streamExportRowsBySalonId(3L)) {
+                rows.count();
+            }
+        });
+    }
+
+    @Test
+    void reportQueriesUseIndexes() throws Exception {
+        assertIndexed("aggregate.findById", () -> aggregateRepository.findById(3L));
+        assertIndexed("aggregate.increment", () -> aggregateRepository.increment(3L, 1, 0, 100, 0));
+        assertIndexed("rollup.findById", () -> rollupRepository.findById(new SalonDailyRollupId(3L, LocalDate.of(2025, 3, 1))));
+        assertIndexed("rollup.findBySalonIdAndDayBetween", () -> rollupRepository
+                .findBySalonIdAndDayBetweenOrderByDay(3L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)));
+        assertIndexed("rollup.deleteBySalonId", () -> rollupRepository.deleteBySalonId(3L));
+        assertIndexed("outbox.findPending", () -> outboxEventRepository
+                .findByPublishedAtIsNullAndParkedAtIsNullOrderByIdAsc(Limit.of(100)));
+        assertIndexed("outbox.findPendingExcept", () -> outboxEventRepository
+                .findByPublishedAtIsNullAndParkedAtIsNullAndSalonIdNotInOrderByIdAsc(List.of(3L), Limit.of(100)));
+        assertIndexed("outbox.deletePublishedBefore", () -> outboxEventRepository.deletePublishedBefore(BASE));
+    }
+
+    private void assertIndexed(String name, Runnable query) throws Exception {
+        SqlCapture.clear();
+        query.run();
+
+        List<String> statements = SqlCapture.statements().stream()
+                .filter(sql -> !sql.trim().toLowerCase(Locale.ROOT).startsWith("insert"))
+                .toList();
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), name + " scans a whole table:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
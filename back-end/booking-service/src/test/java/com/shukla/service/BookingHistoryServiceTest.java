@@ -0,0 +1,171 @@
+package com.shukla.service;
+
+import com.shukla.client.ServiceOfferingClient;
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.EnrichedBookingDTO;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// salon-service and service-offering are one local stub that answers both batch endpoints after DELAY_MS;
+// the two lookups run side by side, so the history takes about one delay rather than two
+@SpringBootTest
+class BookingHistoryServiceTest {
+
+    private static final Long CUSTOMER_ID = 13000L;
+    private static final long DELAY_MS = 400;
+
+    private static HttpServer stub;
+    private static final List<String> requests = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean servicesDown = new AtomicBoolean();
+
+    @Autowired
+    private BookingHistoryService bookingHistoryService;
+
+    @Autowired
+    private ServiceOfferingClient serviceOfferingClient;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/api/salons/list/", exchange -> respond(exchange, ids(exchange).stream()
+                .map(id -> "{\"id\":" + id + ",\"name\":\"Salon " + id + "\",\"address\":\"Street " + id + "\"}")
+                .collect(Collectors.joining(",", "[", "]"))));
+        stub.createContext("/api/service-offering/list/", exchange -> {
+            if (servicesDown.get()) {
+                ids(exchange);
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            respond(exchange, ids(exchange).stream()
+                    .map(id -> "{\"id\":" + id + ",\"name\":\"Service " + id + "\",\"price\":100,\"duration\":30}")
+                    .collect(Collectors.joining(",", "[", "]")));
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void stubUrl(DynamicPropertyRegistry registry) {
+        registry.add("service-offering.url", () -> "http://localhost:" + stub.getAddress().getPort());
+        registry.add("salon-service.url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @BeforeEach
+    void reset() {
+        serviceOfferingClient.evictAll();
+        requests.clear();
+        servicesDown.set(false);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findByCustomerId(CUSTOMER_ID));
+    }
+
+    @Test
+    void bookingsAreEnrichedWithOneConcurrentCallPerDownstream() {
+        save(1301L, 1, Set.of(31L, 32L));
+        save(1302L, 2, Set.of(32L));
+        save(1301L, 3, Set.of(33L));
+
+        long started = System.nanoTime();
+        List<EnrichedBookingDTO> history = bookingHistoryService.getBookingHistory(CUSTOMER_ID, false);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(3, history.size());
+        assertEquals("Salon 1301", history.get(0).getSalonName());
+        assertEquals("Street 1302", history.get(1).getSalonAddress());
+        assertEquals(List.of(31L, 32L), history.get(0).getServices().stream().map(s -> s.getId()).toList());
+        assertEquals("Service 33", history.get(2).getServices().get(0).getName());
+
+        assertEquals(Set.of("salons:1301,1302", "services:31,32,33"), Set.copyOf(requests));
+        assertEquals(2, requests.size());
+        assertTrue(elapsedMillis < 2 * DELAY_MS, "took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void failedDownstreamLeavesItsFieldsEmpty() {
+        servicesDown.set(true);
+        save(1303L, 1, Set.of(34L));
+
+        List<EnrichedBookingDTO> history = bookingHistoryService.getBookingHistory(CUSTOMER_ID, false);
+
+        assertEquals(1, history.size());
+        assertEquals("Salon 1303", history.get(0).getSalonName());
+        assertEquals(Set.of(34L), history.get(0).getServiceIds());
+        assertTrue(history.get(0).getServices().isEmpty());
+    }
+
+    private void save(Long salonId, int day, Set<Long> serviceIds) {
+        Booking booking = new Booking();
+        booking.setSalonId(salonId);
+        booking.setCustomerId(CUSTOMER_ID);
+        booking.setStartTime(LocalDateTime.of(2025, 7, day, 10, 0));
+        booking.setEndTime(LocalDateTime.of(2025, 7, day, 11, 0));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setServiceIds(new HashSet<>(serviceIds));
+        bookingRepository.save(booking);
+    }
+
+    // records "salons:1,2" / "services:3,4" with the ids sorted, then waits DELAY_MS like a slow downstream
+    private static Set<Long> ids(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        Set<Long> ids = Arrays.stream(path.substring(path.lastIndexOf('/') + 1).split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+        requests.add((path.startsWith("/api/salons") ? "salons:" : "services:")
+                + ids.stream().sorted().map(String::valueOf).collect(Collectors.joining(",")));
+        try {
+            Thread.sleep(DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ids;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.shukla.service;
+
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.BookingSlotDTO;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.hold.SlotHold;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class SalonCapacityTest {
+
+    private static final Long SALON_ID = 1100L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 6, 3, 0, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+        salonIntervalIndex.rebuild();
+    }
+
+    @Test
+    void twoChairsTakeTwoOverlappingBookingsButNotAThird() throws Exception {
+        bookingService.createBooking(request(DAY.plusHours(10)), customer(1L), salon(2), Set.of(service()));
+        bookingService.createBooking(request(DAY.plusHours(10).plusMinutes(30)), customer(2L), salon(2), Set.of(service()));
+
+        // 10:40 - 11:25 runs into both of them at 10:40
+        assertThrows(Exception.class, () -> bookingService.createBooking(
+                request(DAY.plusHours(10).plusMinutes(40)), customer(3L), salon(2), Set.of(service())));
+        // with one chair the second booking would not have been allowed either
+        assertThrows(Exception.class, () -> bookingService.createBooking(
+                request(DAY.plusHours(11)), customer(3L), salon(1), Set.of(service())));
+
+        // after 10:45 only the second booking is still running
+        bookingService.createBooking(request(DAY.plusHours(10).plusMinutes(50)), customer(3L), salon(2), Set.of(service()));
+        assertEquals(3, bookingRepository.findBySalonId(SALON_ID).size());
+
+        // salon-service is not running here, so the slots endpoint assumes one chair
+        for (BookingSlotDTO slot : bookingService.getBookedSlots(SALON_ID, DAY.toLocalDate())) {
+            assertEquals(0, slot.getRemaining());
+        }
+    }
+
+    @Test
+    void heldSlotsCountTowardsCapacity() throws Exception {
+        SlotHold hold = bookingService.holdSlot(request(DAY.plusHours(14)), customer(1L), salon(2), Set.of(service()));
+        bookingService.createBooking(request(DAY.plusHours(14)), customer(2L), salon(2), Set.of(service()));
+
+        assertThrows(Exception.class, () -> bookingService.createBooking(
+                request(DAY.plusHours(14).plusMinutes(15)), customer(3L), salon(2), Set.of(service())));
+        assertThrows(Exception.class, () -> bookingService.holdSlot(
+                request(DAY.plusHours(13).plusMinutes(30)), customer(3L), salon(2), Set.of(service())));
+
+        bookingService.releaseHold(hold.getId());
+        bookingService.createBooking(request(DAY.plusHours(14).plusMinutes(15)), customer(3L), salon(2), Set.of(service()));
+    }
+
+    private BookingRequest request(LocalDateTime startTime) {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+        return request;
+    }
+
+    private UserDTO customer(Long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+
+    private SalonDTO salon(int capacity) {
+        SalonDTO salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        salon.setCapacity(capacity);
+        return salon;
+    }
+
+    private ServiceDTO service() {
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(300);
+        service.setDuration(45);
+        return service;
+    }
+}
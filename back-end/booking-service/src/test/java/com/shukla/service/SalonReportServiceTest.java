@@ -0,0 +1,112 @@
+package com.shukla.service;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.SalonReportDriftDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.Booking;
+import com.shukla.model.SalonReport;
+import com.shukla.model.SalonReportAggregate;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonReportAggregateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SalonReportServiceTest {
+
+    private static final Long SALON_ID = 910L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 3, 0, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SalonReportService salonReportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonReportAggregateRepository aggregateRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+        aggregateRepository.deleteById(SALON_ID);
+        // rows were removed behind the service's back
+        salonIntervalIndex.rebuild();
+    }
+
+    @Test
+    void countersFollowCreatesAndStatusChanges() throws Exception {
+        Booking first = create(DAY.plusHours(9), 300);
+        Booking second = create(DAY.plusHours(11), 500);
+        create(DAY.plusHours(13), 700);
+
+        bookingService.updateBooking(first.getId(), BookingStatus.CONFIRMED);
+        bookingService.updateBooking(second.getId(), BookingStatus.CANCELLED);
+        bookingService.updateBooking(second.getId(), BookingStatus.CANCELLED);
+
+        SalonReport report = bookingService.getSalonReport(SALON_ID);
+        assertEquals(3, report.getTotalBookings());
+        assertEquals(1, report.getCancelBookings());
+        assertEquals(1000.0, report.getTotalEarnings());
+        assertEquals(500.0, report.getTotalRefund());
+        assertTrue(salonReportService.rebuildReports().stream()
+                .noneMatch(drift -> drift.getSalonId().equals(SALON_ID)));
+    }
+
+    @Test
+    void rebuildDetectsAndRepairsDrift() throws Exception {
+        create(DAY.plusHours(9), 300);
+        aggregateRepository.save(new SalonReportAggregate(SALON_ID, 5L, 0L, 42L, 0L));
+
+        List<SalonReportDriftDTO> drift = salonReportService.rebuildReports();
+
+        SalonReportDriftDTO salonDrift = drift.stream()
+                .filter(d -> d.getSalonId().equals(SALON_ID))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(5L, salonDrift.getActual().getTotalBookings());
+        assertEquals(1L, salonDrift.getExpected().getTotalBookings());
+        assertEquals(1, bookingService.getSalonReport(SALON_ID).getTotalBookings());
+        assertEquals(300.0, bookingService.getSalonReport(SALON_ID).getTotalEarnings());
+    }
+
+    private Booking create(LocalDateTime startTime, int price) throws Exception {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+
+        SalonDTO salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(price);
+        service.setDuration(45);
+
+        return bookingService.createBooking(request, user, salon, Set.of(service));
+    }
+}
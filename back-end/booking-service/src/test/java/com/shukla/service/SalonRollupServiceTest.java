@@ -0,0 +1,105 @@
+package com.shukla.service;
+
+import com.shukla.domain.BookingStatus;
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.OccupancyHeatmapDTO;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.SalonRangeReportDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.Booking;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.SalonDailyRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SalonRollupServiceTest {
+
+    private static final Long SALON_ID = 920L;
+    // a Monday
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SalonRollupService salonRollupService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.deleteBySalonId(SALON_ID));
+        salonIntervalIndex.rebuild();
+    }
+
+    @Test
+    void rollupsTrackBookingsAndFeedRangeReportAndHeatmap() throws Exception {
+        create(DAY.atTime(10, 30), 400);
+        Booking cancelled = create(DAY.atTime(14, 0), 250);
+        create(DAY.plusDays(1).atTime(9, 0), 600);
+        bookingService.updateBooking(cancelled.getId(), BookingStatus.CANCELLED);
+
+        SalonRangeReportDTO report = salonRollupService.getRangeReport(SALON_ID, DAY, DAY.plusDays(6));
+        assertEquals(3L, report.getTotalBookings());
+        assertEquals(1L, report.getCancelBookings());
+        assertEquals(1000.0, report.getTotalEarnings());
+        assertEquals(250.0, report.getTotalRefund());
+        assertEquals(90L, report.getBookedMinutes());
+        assertEquals(2, report.getDays().size());
+
+        OccupancyHeatmapDTO heatmap = salonRollupService.getOccupancyHeatmap(SALON_ID, DAY, DAY.plusDays(6));
+        // 10:30 - 11:15 lands in two hour buckets on Monday
+        assertEquals(30L, heatmap.getBookedMinutes()[0][10]);
+        assertEquals(15L, heatmap.getBookedMinutes()[0][11]);
+        assertEquals(0L, heatmap.getBookedMinutes()[0][14]);
+        assertEquals(45L, heatmap.getBookedMinutes()[1][9]);
+        assertEquals(0.75, heatmap.getOccupancy()[1][9]);
+
+        salonRollupService.rebuildRollups(SALON_ID);
+        assertEquals(report, salonRollupService.getRangeReport(SALON_ID, DAY, DAY.plusDays(6)));
+    }
+
+    private Booking create(LocalDateTime startTime, int price) throws Exception {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+
+        SalonDTO salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(price);
+        service.setDuration(45);
+
+        return bookingService.createBooking(request, user, salon, Set.of(service));
+    }
+}
@@ -0,0 +1,62 @@
+package com.shukla.waitlist;
+
+import com.shukla.model.WaitlistEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SalonQueueTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 7, 7, 0, 0);
+
+    @Test
+    void longestFollowsTheEntriesStillQueued() {
+        SalonWaitlist.SalonQueue queue = new SalonWaitlist.SalonQueue();
+        WaitlistEntry shortEntry = entry(1L, DAY.plusHours(10), Duration.ofMinutes(30));
+        WaitlistEntry longEntry = entry(2L, DAY.plusHours(9), Duration.ofHours(4));
+        WaitlistEntry sameLength = entry(3L, DAY.plusHours(14), Duration.ofHours(4));
+
+        queue.add(shortEntry);
+        queue.add(longEntry);
+        queue.add(sameLength);
+        assertEquals(Duration.ofHours(4), queue.longest());
+
+        queue.remove(longEntry);
+        assertEquals(Duration.ofHours(4), queue.longest());
+        queue.remove(sameLength);
+        assertEquals(Duration.ofMinutes(30), queue.longest());
+        // removing an entry twice must not drop another entry's length
+        queue.remove(sameLength);
+        assertEquals(Duration.ofMinutes(30), queue.longest());
+
+        queue.remove(shortEntry);
+        assertEquals(Duration.ZERO, queue.longest());
+    }
+
+    @Test
+    void overlapSearchStillFindsEntriesAfterTheLongestIsRemoved() {
+        SalonWaitlist.SalonQueue queue = new SalonWaitlist.SalonQueue();
+        WaitlistEntry longEntry = entry(1L, DAY.plusHours(8), Duration.ofHours(5));
+        WaitlistEntry twoHours = entry(2L, DAY.plusHours(10), Duration.ofHours(2));
+        queue.add(longEntry);
+        queue.add(twoHours);
+
+        queue.remove(longEntry);
+
+        assertEquals(List.of(twoHours), queue.overlapping(DAY.plusHours(11), DAY.plusHours(12)));
+        assertEquals(List.of(), queue.overlapping(DAY.plusHours(12).plusMinutes(1), DAY.plusHours(13)));
+    }
+
+    private WaitlistEntry entry(Long id, LocalDateTime start, Duration length) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setSalonId(1L);
+        entry.setStartTime(start);
+        entry.setEndTime(start.plus(length));
+        return entry;
+    }
+}
@@ -0,0 +1,157 @@
+package com.shukla.waitlist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shukla.domain.BookingEventType;
+import com.shukla.domain.BookingStatus;
+import com.shukla.domain.WaitlistStatus;
+import com.shukla.dto.BookingEventDTO;
+import com.shukla.dto.BookingRequest;
+import com.shukla.dto.SalonDTO;
+import com.shukla.dto.ServiceDTO;
+import com.shukla.dto.UserDTO;
+import com.shukla.index.SalonIntervalIndex;
+import com.shukla.model.Booking;
+import com.shukla.model.OutboxEvent;
+import com.shukla.model.WaitlistEntry;
+import com.shukla.repository.BookingRepository;
+import com.shukla.repository.OutboxEventRepository;
+import com.shukla.repository.WaitlistEntryRepository;
+import com.shukla.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class WaitlistPromotionTest {
+
+    private static final Long SALON_ID = 980L;
+    // promotion skips entries whose start has passed, so the day has to stay in the future
+    private static final LocalDateTime DAY = LocalDate.now().plusDays(7).atStartOfDay();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SalonWaitlist salonWaitlist;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SalonIntervalIndex salonIntervalIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findBySalonId(SALON_ID));
+        waitlistEntryRepository.deleteAll(waitlistEntryRepository.findAll().stream()
+                .filter(entry -> entry.getSalonId().equals(SALON_ID))
+                .toList());
+        salonIntervalIndex.rebuild();
+        salonWaitlist.load();
+    }
+
+    @Test
+    void cancellationPromotesOldestEntryThatFits() throws Exception {
+        Booking taken = bookingService.createBooking(request(DAY.plusHours(10)), customer(1L), salon(), Set.of(service()));
+
+        WaitlistEntry first = bookingService.joinWaitlist(request(DAY.plusHours(10).plusMinutes(15)), customer(2L), salon(), Set.of(service()));
+        // overlaps both the taken booking and the first entry
+        WaitlistEntry second = bookingService.joinWaitlist(request(DAY.plusHours(10)), customer(3L), salon(), Set.of(service()));
+        assertEquals(WaitlistStatus.WAITING, first.getStatus());
+        assertEquals(WaitlistStatus.WAITING, second.getStatus());
+        assertEquals(2, salonWaitlist.size(SALON_ID));
+
+        bookingService.updateBooking(taken.getId(), BookingStatus.CANCELLED);
+
+        WaitlistEntry promoted = bookingService.getWaitlistEntry(first.getId());
+        assertEquals(WaitlistStatus.PROMOTED, promoted.getStatus());
+        Booking booking = bookingService.getBookingById(promoted.getBookingId());
+        assertEquals(2L, booking.getCustomerId());
+        assertEquals(DAY.plusHours(10).plusMinutes(15), booking.getStartTime());
+        assertEquals(WaitlistStatus.WAITING, bookingService.getWaitlistEntry(second.getId()).getStatus());
+        assertEquals(1, salonWaitlist.size(SALON_ID));
+
+        // the customer is notified through the booking event stream
+        OutboxEvent event = outboxEventRepository.findAll().stream()
+                .filter(e -> e.getBookingId().equals(booking.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(BookingEventType.PROMOTED_FROM_WAITLIST, event.getEventType());
+        assertEquals(2L, objectMapper.readValue(event.getPayload(), BookingEventDTO.class).getCustomerId());
+
+        // survives a restart
+        salonWaitlist.load();
+        assertEquals(List.of(second.getId()), salonWaitlist.candidates(SALON_ID, DAY, DAY.plusDays(1)).stream()
+                .map(WaitlistEntry::getId)
+                .toList());
+    }
+
+    @Test
+    void freeSlotIsBookedAndLeftEntriesStayQueued() throws Exception {
+        WaitlistEntry immediate = bookingService.joinWaitlist(request(DAY.plusHours(15)), customer(2L), salon(), Set.of(service()));
+        assertEquals(WaitlistStatus.PROMOTED, immediate.getStatus());
+        assertEquals(DAY.plusHours(15), bookingService.getBookingById(immediate.getBookingId()).getStartTime());
+
+        Booking taken = bookingService.createBooking(request(DAY.plusHours(12)), customer(1L), salon(), Set.of(service()));
+        WaitlistEntry left = bookingService.joinWaitlist(request(DAY.plusHours(12)), customer(3L), salon(), Set.of(service()));
+        bookingService.leaveWaitlist(left.getId());
+        assertThrows(Exception.class, () -> bookingService.leaveWaitlist(left.getId()));
+
+        bookingService.updateBooking(taken.getId(), BookingStatus.CANCELLED);
+        assertEquals(WaitlistStatus.CANCELLED, bookingService.getWaitlistEntry(left.getId()).getStatus());
+        assertTrue(bookingRepository.findBySalonId(SALON_ID).stream()
+                .noneMatch(booking -> booking.getCustomerId().equals(3L)));
+
+        // outside opening hours is rejected, not queued
+        assertThrows(Exception.class, () -> bookingService.joinWaitlist(
+                request(DAY.plusHours(22)), customer(4L), salon(), Set.of(service())));
+    }
+
+    private BookingRequest request(LocalDateTime startTime) {
+        BookingRequest request = new BookingRequest();
+        request.setStartTime(startTime);
+        return request;
+    }
+
+    private UserDTO customer(Long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+
+    private SalonDTO salon() {
+        SalonDTO salon = new SalonDTO();
+        salon.setId(SALON_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        return salon;
+    }
+
+    private ServiceDTO service() {
+        ServiceDTO service = new ServiceDTO();
+        service.setId(1L);
+        service.setPrice(300);
+        service.setDuration(45);
+        return service;
+    }
+}
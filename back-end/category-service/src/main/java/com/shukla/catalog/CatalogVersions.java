@@ -0,0 +1,60 @@
+package com.shukla.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version counters for this service's catalog data, one per salon plus one for all salons, bumped after
+// every write. The catalog GETs turn them into weak ETags before loading anything, so a matching
+// If-None-Match is answered with 304 without touching the database. Read the version before the data:
+// a write bumps after it commits, so a response is never tagged newer than what it contains.
+// Counters live in memory and start over on restart; the boot time in the tag keeps old tags from matching.
+// They are also per instance: a write served by another instance never bumps this one's counters, so its
+// ETags keep answering 304 for data that has changed. Run a single instance of each catalog service; scaling
+// out needs the versions in shared, persisted state (e.g. a version column on the salon) instead.
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLong> salonVersions = new ConcurrentHashMap<>();
+    private final AtomicLong allSalonsVersion = new AtomicLong();
+    private final CacheControl cacheControl;
+
+    // maxAge 0 makes browsers revalidate on every use, which costs a 304 and shows writes at once
+    public CatalogVersions(@Value("${catalog.cache.max-age:0s}") Duration maxAge) {
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePublic()
+                : CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    public long version(Long salonId) {
+        AtomicLong version = salonVersions.get(salonId);
+        return version == null ? 0 : version.get();
+    }
+
+    public long allSalonsVersion() {
+        return allSalonsVersion.get();
+    }
+
+    // call once the write is saved
+    public void bump(Long salonId) {
+        if (salonId != null) {
+            salonVersions.computeIfAbsent(salonId, id -> new AtomicLong()).incrementAndGet();
+        }
+        allSalonsVersion.incrementAndGet();
+    }
+
+    // scope names what the version covers, e.g. "salon-7"; the tag only has to differ when the data does
+    public String etag(String scope, long version) {
+        return "W/\"" + epoch + "-" + scope + "-" + version + "\"";
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+}
@@ -1,27 +1,36 @@
 package com.shukla.controller;
 
+import com.shukla.catalog.CatalogVersions;
 import com.shukla.model.Category;
 import com.shukla.service.CategoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Set;
 
-@CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersions catalogVersions;
 
+    // conditional: a matching If-None-Match is answered with 304 before any category is loaded
     @GetMapping("/salon/{id}")
     public ResponseEntity<Set<Category>> getCategoriesBySalon(
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ){
+        String etag = catalogVersions.etag("salon-" + id, catalogVersions.version(id));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl()).build();
+        }
         Set<Category> categories=categoryService.getAllCategoryBySalon(id);
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(categories);
     }
 
     @GetMapping("/{id}")
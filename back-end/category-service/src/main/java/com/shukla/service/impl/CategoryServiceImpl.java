@@ -1,19 +1,32 @@
 package com.shukla.service.impl;
 
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.concurrent.SingleFlight;
 import com.shukla.dto.SalonDTO;
 import com.shukla.model.Category;
 import com.shukla.repository.CategoryRepository;
 import com.shukla.service.CategoryService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogVersions catalogVersions;
+    // a featured salon's categories are read by many requests at once, concurrent reads of one salon share a query.
+    // Keyed by salon and catalog version, so a read that starts after a write never joins a load from before it.
+    private final SingleFlight<String, Set<Category>> salonCategoryLoads;
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CatalogVersions catalogVersions,
+                               MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.catalogVersions = catalogVersions;
+        this.salonCategoryLoads = new SingleFlight<>("category.by-salon", meterRegistry);
+    }
 
     @Override
     public Category saveCategory(Category category, SalonDTO salonDTO) {
@@ -22,12 +35,15 @@ public class CategoryServiceImpl implements CategoryService {
         newCategory.setSalonId(salonDTO.getId());
         newCategory.setImage(category.getImage());
 
-        return categoryRepository.save(newCategory);
+        Category savedCategory = categoryRepository.save(newCategory);
+        catalogVersions.bump(savedCategory.getSalonId());
+        return savedCategory;
     }
 
     @Override
     public Set<Category> getAllCategoryBySalon(Long id) {
-        return categoryRepository.findBySalonId(id);
+        return new HashSet<>(salonCategoryLoads.execute(id + ":" + catalogVersions.version(id),
+                () -> categoryRepository.findBySalonId(id)));
     }
 
     @Override
@@ -50,6 +66,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new Exception("you don't have permission to delete this Category ");
         }
         categoryRepository.deleteById(id);
+        catalogVersions.bump(salonId);
 
     }
 }
@@ -0,0 +1,74 @@
+package com.shukla.controller;
+
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.model.Category;
+import com.shukla.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a browser revalidating a salon's categories: 304 from the version counter alone until a write bumps it
+class CategoryControllerConditionalGetTest {
+
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final CatalogVersions catalogVersions = new CatalogVersions(Duration.ZERO);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Hair");
+        category.setSalonId(7L);
+        when(categoryService.getAllCategoryBySalon(7L)).thenReturn(Set.of(category));
+        mockMvc = MockMvcBuilders.standaloneSetup(new CategoryController(categoryService, catalogVersions)).build();
+    }
+
+    @Test
+    void matchingETagIsAnsweredWithoutLoading() throws Exception {
+        String etag = mockMvc.perform(get("/api/categories/salon/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(content().json("[{\"id\":3,\"name\":\"Hair\"}]"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/categories/salon/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(categoryService, times(1)).getAllCategoryBySalon(7L);
+    }
+
+    @Test
+    void writeToTheSalonChangesItsETag() throws Exception {
+        String before = mockMvc.perform(get("/api/categories/salon/7"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        catalogVersions.bump(8L);
+        mockMvc.perform(get("/api/categories/salon/7").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isNotModified());
+
+        catalogVersions.bump(7L);
+        String after = mockMvc.perform(get("/api/categories/salon/7").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(before, after);
+    }
+}
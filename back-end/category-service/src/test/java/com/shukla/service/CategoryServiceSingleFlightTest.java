@@ -0,0 +1,75 @@
+package com.shukla.service;
+
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.model.Category;
+import com.shukla.repository.CategoryRepository;
+import com.shukla.service.impl.CategoryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// getAllCategoryBySalon goes through SingleFlight (covered by SingleFlightTest in salon-service) keyed by salon
+// and catalog version: a read that starts while a load is running joins it, unless a write bumped the version
+// in between
+class CategoryServiceSingleFlightTest {
+
+    @Test
+    void readsShareALoadOnlyWithinOneCatalogVersion() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CatalogVersions catalogVersions = new CatalogVersions(Duration.ZERO);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        CategoryService categoryService = new CategoryServiceImpl(categoryRepository, catalogVersions, meterRegistry);
+
+        Category category = new Category();
+        category.setId(3L);
+        category.setSalonId(7L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryRepository.findBySalonId(7L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Set.of(category);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Set<Category>> first = executor.submit(() -> categoryService.getAllCategoryBySalon(7L));
+            awaitCount(meterRegistry, "singleflight.loads", 1);
+            Future<Set<Category>> sameVersion = executor.submit(() -> categoryService.getAllCategoryBySalon(7L));
+            awaitCount(meterRegistry, "singleflight.coalesced", 1);
+            catalogVersions.bump(7L);
+            Future<Set<Category>> afterWrite = executor.submit(() -> categoryService.getAllCategoryBySalon(7L));
+            awaitCount(meterRegistry, "singleflight.loads", 2);
+            release.countDown();
+
+            for (Future<Set<Category>> result : List.of(first, sameVersion, afterWrite)) {
+                assertEquals(Set.of(category), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(categoryRepository, times(2)).findBySalonId(7L);
+        assertEquals(1, meterRegistry.get("singleflight.coalesced").counter().count());
+    }
+
+    private static void awaitCount(MeterRegistry meterRegistry, String counter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(counter).counter().count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, meterRegistry.get(counter).counter().count());
+    }
+}
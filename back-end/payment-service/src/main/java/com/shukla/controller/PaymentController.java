@@ -3,6 +3,7 @@ package com.shukla.controller;
 import com.razorpay.RazorpayException;
 import com.shukla.domain.PaymentMethod;
 import com.shukla.domain.PaymentOrderStatus;
+import com.shukla.idempotency.IdempotencyStore;
 import com.shukla.model.PaymentOrder;
 import com.shukla.payload.dto.BookingDTO;
 import com.shukla.payload.dto.UserDTO;
@@ -11,6 +12,7 @@ import com.shukla.repository.PaymentOrderRepository;
 import com.shukla.service.PaymentService;
 import com.stripe.exception.StripeException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
@@ -22,7 +24,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "http://localhost:5173")
+@Slf4j
 public class PaymentController {
 
     @Autowired
@@ -30,15 +32,41 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final PaymentOrderRepository paymentOrderRepository;
+    private final IdempotencyStore idempotencyStore;
 
+    // A retried request with the same Idempotency-Key gets the original link back instead of a new one
     @PostMapping("/create")
     public ResponseEntity<?> createPaymentLink(
             @RequestBody BookingDTO booking,
             @RequestParam PaymentMethod paymentMethod,
             @RequestParam(required = false) Long customerId,
             @RequestParam(required = false) String customerName,
-            @RequestParam(required = false) String customerEmail
+            @RequestParam(required = false) String customerEmail,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey
     ) {
+        return idempotencyStore.execute(idempotencyKey,
+                fingerprint(booking, paymentMethod, customerId),
+                () -> doCreatePaymentLink(booking, paymentMethod, customerId, customerName, customerEmail));
+    }
+
+    // What makes two payment requests the same: method, customer and the booking fields that set the amount.
+    // Service ids are sorted so a retry matches whatever order its set arrives in.
+    static String fingerprint(BookingDTO booking, PaymentMethod paymentMethod, Long customerId) {
+        List<Long> serviceIds = booking.getServiceIds() == null
+                ? List.of()
+                : booking.getServiceIds().stream().sorted().toList();
+        return "method=" + paymentMethod + "|customer=" + customerId
+                + "|booking=" + booking.getId() + "|salon=" + booking.getSalonId()
+                + "|bookingCustomer=" + booking.getCustomerId()
+                + "|start=" + booking.getStartTime() + "|end=" + booking.getEndTime()
+                + "|services=" + serviceIds + "|amount=" + booking.getTotalPrice();
+    }
+
+    private ResponseEntity<?> doCreatePaymentLink(BookingDTO booking,
+                                                  PaymentMethod paymentMethod,
+                                                  Long customerId,
+                                                  String customerName,
+                                                  String customerEmail) {
         try {
             // ✅ FIXED: Better user data handling
             UserDTO user = new UserDTO();
@@ -80,13 +108,13 @@ public class PaymentController {
                     try {
                         bookingId = Long.parseLong((String) bookingIdObj);
                     } catch (NumberFormatException e) {
-                        System.err.println("❌ Invalid bookingId format: " + bookingIdObj);
+                        log.warn("razorpay callback invalid bookingId value={}", bookingIdObj);
                     }
                 }
             }
 
-            System.out.println("🟣 Processing Razorpay payment: " + payload);
-            System.out.println("📝 Extracted bookingId: " + bookingId);
+            log.debug("razorpay callback payload={}", payload);
+            log.info("razorpay callback linkId={} status={} bookingId={}", razorpayLinkId, status, bookingId);
 
             if (bookingId == null) {
                 return ResponseEntity.badRequest()
@@ -115,8 +143,7 @@ public class PaymentController {
             return ResponseEntity.badRequest().body(Map.of("error", "Payment order not found"));
 
         } catch (Exception e) {
-            System.err.println("❌ Razorpay payment processing error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("razorpay callback failed error={}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to process payment: " + e.getMessage()));
         }
@@ -125,8 +152,7 @@ public class PaymentController {
     // ✅ Helper method to update booking status
     private void updateBookingStatusToConfirmed(Long bookingId) {
         try {
-            // Make HTTP call to booking service
-            RestTemplate restTemplate = new RestTemplate();
+            // Make HTTP call to booking service, through the shared RestTemplate so the correlation id goes along
             String bookingServiceUrl = "http://localhost:5005/api/bookings/" + bookingId + "/status?status=CONFIRMED";
 
             HttpHeaders headers = new HttpHeaders();
@@ -136,7 +162,7 @@ public class PaymentController {
             restTemplate.exchange(bookingServiceUrl, HttpMethod.PUT, entity, String.class);
 
         } catch (Exception e) {
-            System.err.println("❌ Failed to update booking status: " + e.getMessage());
+            log.warn("booking confirm call failed bookingId={} error={}", bookingId, e.getMessage());
             throw e;
         }
     }
@@ -150,7 +176,7 @@ public class PaymentController {
             Long salonId = Long.parseLong(payload.get("salonId").toString());
             Long customerId = Long.parseLong(payload.get("customerId").toString());
 
-            System.out.println("🏪 Creating pay-at-salon booking: " + payload);
+            log.info("pay-at-salon requested bookingId={} salonId={} customerId={} amount={}", bookingId, salonId, customerId, amount);
 
             // Create special payment record
             PaymentOrder order = new PaymentOrder();
@@ -167,9 +193,9 @@ public class PaymentController {
             // ✅ CRITICAL: Confirm booking for pay-at-salon
             try {
                 updateBookingStatusToConfirmed(bookingId);
-                System.out.println("✅ Booking #" + bookingId + " confirmed for pay-at-salon");
+                log.info("pay-at-salon booking confirmed bookingId={}", bookingId);
             } catch (Exception e) {
-                System.err.println("⚠️ Warning: Pay-at-salon setup successful but booking confirmation failed: " + e.getMessage());
+                log.warn("pay-at-salon order saved but booking confirm failed bookingId={} error={}", bookingId, e.getMessage());
             }
 
             return ResponseEntity.ok(Map.of(
@@ -179,7 +205,7 @@ public class PaymentController {
             ));
 
         } catch (Exception e) {
-            System.err.println("❌ Pay-at-salon setup error: " + e.getMessage());
+            log.error("pay-at-salon setup failed error={}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to setup pay-at-salon: " + e.getMessage()));
         }
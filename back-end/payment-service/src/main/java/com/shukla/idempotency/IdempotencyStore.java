@@ -0,0 +1,152 @@
+package com.shukla.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Replays the first successful response for a repeated Idempotency-Key instead of running the request again.
+// A key being executed sits in inFlight, so a concurrent duplicate waits for that result rather than
+// running the request a second time; finished 2xx responses are kept for ttl, at most maxSize of them.
+// Failures are not kept, a retry after an error runs again. Covers one JVM only.
+// booking-service and payment-service each have an identical copy; keep them in step.
+// Metrics: the idempotency-responses cache, the idempotency.in-flight gauge and idempotency.requests by outcome
+// (replayed, waited, in-progress, key-reused); the application tag tells the services apart.
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String CACHE_NAME = "idempotency-responses";
+
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long waitMillis;
+    private final Counter replayed;
+    private final Counter waited;
+    private final Counter inProgress;
+    private final Counter keyReused;
+
+    @Autowired
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl:24h}") Duration ttl,
+                            @Value("${idempotency.max-size:10000}") long maxSize,
+                            @Value("${idempotency.wait-ms:10000}") long waitMillis) {
+        this(meterRegistry, ttl, maxSize, waitMillis, Ticker.systemTicker());
+    }
+
+    IdempotencyStore(MeterRegistry meterRegistry, Duration ttl, long maxSize, long waitMillis, Ticker ticker) {
+        this.waitMillis = waitMillis;
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, CACHE_NAME);
+        meterRegistry.gaugeMapSize("idempotency.in-flight", Tags.empty(), inFlight);
+        this.replayed = meterRegistry.counter("idempotency.requests", "outcome", "replayed");
+        this.waited = meterRegistry.counter("idempotency.requests", "outcome", "waited");
+        this.inProgress = meterRegistry.counter("idempotency.requests", "outcome", "in-progress");
+        this.keyReused = meterRegistry.counter("idempotency.requests", "outcome", "key-reused");
+    }
+
+    // fingerprint identifies the request the key was first used with, reusing a key for a different
+    // request is answered with 422 rather than the other request's response
+    public ResponseEntity<?> execute(String key, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        while (true) {
+            StoredResponse stored = completed.getIfPresent(key);
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                return runFirst(key, fingerprint, action, mine);
+            }
+
+            // the first request failed when this resolves to null, go round and take over
+            waited.increment();
+            try {
+                stored = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                inProgress.increment();
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("error", "A request with this Idempotency-Key is still in progress. Please retry."));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(Map.of("error", "Interrupted while waiting for the original request."));
+            } catch (Exception e) {
+                stored = null;
+            }
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+        }
+    }
+
+    private ResponseEntity<?> runFirst(String key, String fingerprint, Supplier<ResponseEntity<?>> action,
+                                       CompletableFuture<StoredResponse> mine) {
+        StoredResponse stored = null;
+        try {
+            // it may have finished between the cache lookup and taking the in-flight slot
+            StoredResponse finished = completed.getIfPresent(key);
+            if (finished != null) {
+                stored = finished;
+                return replay(finished, fingerprint);
+            }
+            ResponseEntity<?> response = action.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                stored = new StoredResponse(fingerprint, response);
+                completed.put(key, stored);
+            }
+            return response;
+        } finally {
+            inFlight.remove(key, mine);
+            mine.complete(stored);
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            keyReused.increment();
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(Map.of("error", "Idempotency-Key was already used for a different request."));
+        }
+        replayed.increment();
+        return ResponseEntity.status(stored.response().getStatusCode())
+                .headers(stored.response().getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.response().getBody());
+    }
+
+    public long size() {
+        completed.cleanUp();
+        return completed.estimatedSize();
+    }
+
+    private record StoredResponse(String fingerprint, ResponseEntity<?> response) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.shukla.logging;
+
+import org.slf4j.MDC;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+// Carries the current request's correlation id and debug sampling decision on outgoing RestTemplate calls,
+// so the downstream service logs under the same id. Calls made outside a request (scheduled jobs) go without.
+public class CorrelationIdInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if (correlationId != null) {
+            request.getHeaders().set(CorrelationIdFilter.HEADER, correlationId);
+            request.getHeaders().set(CorrelationIdFilter.SAMPLED_HEADER,
+                    String.valueOf(MDC.get(CorrelationIdFilter.SAMPLED_MDC_KEY) != null));
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,34 @@
+package com.shukla.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+// Turns DEBUG on for the requests CorrelationIdFilter picked for sampling, on loggers under loggerPrefixes;
+// every other request keeps the configured levels. Registered in logback-spring.xml. Runs for every
+// logging call, so anything but a sampled DEBUG event is answered NEUTRAL after the level check.
+public class SampledDebugFilter extends TurboFilter {
+
+    private String[] loggerPrefixes = {"com.shukla"};
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || MDC.get(CorrelationIdFilter.SAMPLED_MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        for (String prefix : loggerPrefixes) {
+            if (logger.getName().startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    // comma separated, set from logging.debug-sample-loggers
+    public void setLoggerPrefixes(String loggerPrefixes) {
+        this.loggerPrefixes = loggerPrefixes.trim().split("\\s*,\\s*");
+    }
+}
@@ -15,6 +15,8 @@ import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.param.checkout.SessionCreateParams;
 import com.stripe.model.checkout.Session;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +29,7 @@ import java.util.List;
 public class PaymentServiceImp implements PaymentService {
 
     private final PaymentOrderRepository paymentOrderRepository;
+    private final MeterRegistry meterRegistry;
 
     // ✅ Razorpay keys
     @Value("${razorpay.api.key}")
@@ -35,10 +38,26 @@ public class PaymentServiceImp implements PaymentService {
     @Value("${razorpay.api.secret}")
     private String razorpayApiSecret;
 
+    // payment.order.create{method, outcome}; the gateway call inside it is also timed on its own
     @Override
     public PaymentLinkResponse createOrder(UserDTO user,
                                            BookingDTO booking,
                                            PaymentMethod paymentMethod) throws RazorpayException, StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            PaymentLinkResponse response = doCreateOrder(user, booking, paymentMethod);
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("payment.order.create",
+                    "method", String.valueOf(paymentMethod), "outcome", outcome));
+        }
+    }
+
+    private PaymentLinkResponse doCreateOrder(UserDTO user,
+                                              BookingDTO booking,
+                                              PaymentMethod paymentMethod) throws RazorpayException, StripeException {
 
         // ✅ FIXED: Better amount validation
         Long amount = Math.max((long) booking.getTotalPrice(), 25L); // Minimum ₹25
@@ -127,7 +146,7 @@ public class PaymentServiceImp implements PaymentService {
                 "http://localhost:5173/payment-success/" + orderId + "?bookingId=" + orderId);
         paymentLinkRequest.put("callback_method", "get");
 
-        return razorpay.paymentLink.create(paymentLinkRequest);
+        return gatewayCall("razorpay", "payment_link.create", () -> razorpay.paymentLink.create(paymentLinkRequest));
     }
 
     @Override
@@ -158,7 +177,7 @@ public class PaymentServiceImp implements PaymentService {
                 )
                 .build();
 
-        Session session = Session.create(params);
+        Session session = gatewayCall("stripe", "checkout_session.create", () -> Session.create(params));
         return session.getUrl();
     }
 
@@ -171,7 +190,7 @@ public class PaymentServiceImp implements PaymentService {
             if (paymentOrder.getPaymentMethod().equals(PaymentMethod.RAZORPAY)) {
                 RazorpayClient razorpay = new RazorpayClient(razorpayApiKey, razorpayApiSecret);
 
-                com.razorpay.Payment payment = razorpay.payments.fetch(paymentId);
+                com.razorpay.Payment payment = gatewayCall("razorpay", "payment.fetch", () -> razorpay.payments.fetch(paymentId));
                 String status = payment.get("status");
 
                 if (status.equals("captured")) {
@@ -190,6 +209,25 @@ public class PaymentServiceImp implements PaymentService {
         return false;
     }
 
+    // payment.gateway.requests{gateway, operation, outcome}: latency of each Razorpay/Stripe API call
+    private <T, E extends Exception> T gatewayCall(String gateway, String operation, GatewayCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("payment.gateway.requests",
+                    "gateway", gateway, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    @FunctionalInterface
+    private interface GatewayCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
     @Override
     public PaymentOrder getPaymentById(Long id) {
         return paymentOrderRepository.findById(id).orElse(null);
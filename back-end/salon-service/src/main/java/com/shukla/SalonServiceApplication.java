@@ -1,7 +1,13 @@
 package com.shukla;
 
+import com.shukla.logging.CorrelationIdInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 public class SalonServiceApplication {
@@ -10,4 +16,18 @@ public class SalonServiceApplication {
 		SpringApplication.run(SalonServiceApplication.class, args);
 	}
 
+	@Bean
+	public RestTemplate restTemplate(ObjectProvider<RestTemplateBuilder> builderProvider) {
+		// bounded, same as booking-service: updateSalon refreshes booking-service's cache on the request thread
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(2000);
+		requestFactory.setReadTimeout(5000);
+		// built through the builder so calls are timed as http.client.requests; test slices such as
+		// @DataJpaTest have no auto-configured builder and get a plain one
+		RestTemplateBuilder builder = builderProvider.getIfAvailable(RestTemplateBuilder::new);
+		return builder.requestFactory(() -> requestFactory)
+				.additionalInterceptors(new CorrelationIdInterceptor())
+				.build();
+	}
+
 }
@@ -1,5 +1,6 @@
 package com.shukla.controller;
 
+import com.shukla.catalog.CatalogVersions;
 import com.shukla.mapper.SalonMapper;
 import com.shukla.model.Salon;
 import com.shukla.payload.dto.SalonDTO;
@@ -9,19 +10,21 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static java.util.stream.Collectors.toList;
 
-@CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("/api/salons")
 @RequiredArgsConstructor
 public class SalonController {
 
     private final SalonService salonService;
+    private final CatalogVersions catalogVersions;
 
     @PostMapping
     public ResponseEntity<SalonDTO> createSalon(@RequestBody SalonDTO salonDTO){
@@ -56,8 +59,13 @@ public class SalonController {
         return ResponseEntity.ok(salonDTO1);
     }
 
+    // conditional: a matching If-None-Match is answered with 304 before any salon is loaded
     @GetMapping()
-    public ResponseEntity<List<SalonDTO>> getSalons() throws Exception {
+    public ResponseEntity<List<SalonDTO>> getSalons(WebRequest request) throws Exception {
+        String etag = catalogVersions.etag("salons", catalogVersions.allSalonsVersion());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl()).build();
+        }
 
         List<Salon> salons = salonService.getAllSalons();
 
@@ -66,15 +74,28 @@ public class SalonController {
             return salonDTO;
         }
         ).toList();
-    return ResponseEntity.ok(salonDTOS);
+    return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(salonDTOS);
     }
 
     @GetMapping("/{salonId}")
-    public ResponseEntity<SalonDTO> getSalonById(@PathVariable Long salonId)
+    public ResponseEntity<SalonDTO> getSalonById(@PathVariable Long salonId, WebRequest request)
             throws Exception {
+        String etag = catalogVersions.etag("salon-" + salonId, catalogVersions.version(salonId));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl()).build();
+        }
         Salon salon = salonService.getSalonById(salonId);
         SalonDTO salonDTO = SalonMapper.mapToDTO(salon);
-        return ResponseEntity.ok(salonDTO);
+        return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(salonDTO);
+    }
+
+    // Batched lookup for booking-service; unknown ids are left out
+    @GetMapping("/list/{ids}")
+    public ResponseEntity<List<SalonDTO>> getSalonsByIds(@PathVariable Set<Long> ids) {
+        List<SalonDTO> salonDTOS = salonService.getSalonsByIds(ids).stream()
+                .map(SalonMapper::mapToDTO)
+                .toList();
+        return ResponseEntity.ok(salonDTOS);
     }
 
     @GetMapping("/search")
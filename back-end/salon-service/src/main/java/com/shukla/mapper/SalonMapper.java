@@ -15,6 +15,7 @@ public class SalonMapper {
         salonDTO.setImages(salon.getImages());
         salonDTO.setCloseTime(salon.getCloseTime());
         salonDTO.setOpenTime(salon.getOpenTime());
+        salonDTO.setCapacity(salon.getCapacity() != null ? salon.getCapacity() : 1);
         salonDTO.setPhoneNumber(salon.getPhoneNumber());
         salonDTO.setOwnerId(salon.getOwnerId());
         salonDTO.setEmail(salon.getEmail());
@@ -40,6 +40,9 @@ public class Salon {
     @Column(nullable = false)
     private LocalTime closeTime;
 
+    // chairs/stylists that can serve at the same time; null on salons created before this column means 1
+    private Integer capacity;
+
     @Column(nullable = false)
     private String password;
 
@@ -19,6 +19,7 @@ public class SalonDTO {
 //    private UserDTO owner;
     private LocalTime openTime;
     private LocalTime closeTime;
+    private Integer capacity;
     private String Password;
 
 }
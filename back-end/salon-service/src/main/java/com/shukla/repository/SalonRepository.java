@@ -1,17 +1,24 @@
 package com.shukla.repository;
 
 import com.shukla.model.Salon;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SalonRepository extends JpaRepository<Salon,Long> {
 
     Salon findByOwnerId(Long id);
     Salon findByEmail(String email);
 
+    // images in the same query: getSalonById shares one Salon between concurrent requests (SingleFlight),
+    // so it must not depend on the session of the request that happened to load it
+    @EntityGraph(attributePaths = "images")
+    Optional<Salon> findWithImagesById(Long id);
+
     @Query(
             "SELECT s FROM Salon s WHERE " +
                     "(LOWER(s.city) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
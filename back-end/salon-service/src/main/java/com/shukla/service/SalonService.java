@@ -6,6 +6,7 @@ import com.shukla.payload.dto.UserDTO;
 import lombok.Lombok;
 
 import java.util.List;
+import java.util.Set;
 
 public interface SalonService {
 
@@ -17,6 +18,8 @@ public interface SalonService {
 
     Salon getSalonById(Long salonId) throws Exception;
 
+    List<Salon> getSalonsByIds(Set<Long> salonIds);
+
     Salon getSalonByOwnerId(Long ownerId);
 
     List<Salon> searchSalonByCity(String city);
@@ -1,20 +1,42 @@
 package com.shukla.service.impl;
 
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.concurrent.SingleFlight;
 import com.shukla.model.Salon;
 import com.shukla.payload.dto.SalonDTO;
 import com.shukla.payload.dto.UserDTO;
 import com.shukla.repository.SalonRepository;
 import com.shukla.service.SalonService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class SalonServiceImpl implements SalonService {
 
     private final SalonRepository salonRepository;
+    private final RestTemplate restTemplate;
+    private final CatalogVersions catalogVersions;
+    // a featured salon is read by hundreds of requests at once, concurrent reads of one id share a query.
+    // Keyed by id and catalog version, so a read that starts after a write never joins a load from before it.
+    private final SingleFlight<String, Salon> salonLoads;
+
+    @Value("${booking-service.url}")
+    private String bookingServiceUrl;
+
+    public SalonServiceImpl(SalonRepository salonRepository, RestTemplate restTemplate,
+                            CatalogVersions catalogVersions, MeterRegistry meterRegistry) {
+        this.salonRepository = salonRepository;
+        this.restTemplate = restTemplate;
+        this.catalogVersions = catalogVersions;
+        this.salonLoads = new SingleFlight<>("salon.by-id", meterRegistry);
+    }
 
     @Override
     public Salon createSalon(SalonDTO req, UserDTO user) {
@@ -27,10 +49,13 @@ public class SalonServiceImpl implements SalonService {
         salon.setOwnerId(user.getId());
         salon.setOpenTime(req.getOpenTime());
         salon.setCloseTime(req.getCloseTime());
+        salon.setCapacity(req.getCapacity() != null ? req.getCapacity() : 1);
         salon.setPhoneNumber(req.getPhoneNumber());
         salon.setPassword(req.getPassword());
 
-        return salonRepository.save(salon);
+        Salon savedSalon = salonRepository.save(salon);
+        catalogVersions.bump(savedSalon.getId());
+        return savedSalon;
     }
 
     @Override
@@ -44,14 +69,29 @@ public class SalonServiceImpl implements SalonService {
             existingSalon.setImages(salon.getImages());
             existingSalon.setOpenTime(salon.getOpenTime());
             existingSalon.setCloseTime(salon.getCloseTime());
+            if (salon.getCapacity() != null) {
+                existingSalon.setCapacity(salon.getCapacity());
+            }
             existingSalon.setOwnerId(user.getId());
             existingSalon.setPhoneNumber(salon.getPhoneNumber());
 
-            return salonRepository.save(existingSalon);
+            Salon savedSalon = salonRepository.save(existingSalon);
+            catalogVersions.bump(salonId);
+            refreshBookingServiceCache(salonId);
+            return savedSalon;
         }
         throw new Exception("salon not exist");
     }
 
+    // booking-service keeps opening hours in memory; its periodic reload covers a failed call
+    private void refreshBookingServiceCache(Long salonId) {
+        try {
+            restTemplate.postForLocation(bookingServiceUrl + "/api/bookings/cache/salons/" + salonId + "/refresh", null);
+        } catch (Exception e) {
+            log.warn("booking-service salon cache refresh failed salonId={} error={}", salonId, e.getMessage());
+        }
+    }
+
     @Override
     public List<Salon> getAllSalons() {
         return salonRepository.findAll();
@@ -59,11 +99,18 @@ public class SalonServiceImpl implements SalonService {
 
     @Override
     public Salon getSalonById(Long salonId) throws Exception {
-        Salon salon= salonRepository.findById(salonId).orElse(null);
-        if (salon == null){
-            throw new Exception("Salon not exist");
-        }
-        return salon;
+        return salonLoads.execute(salonId + ":" + catalogVersions.version(salonId), () -> {
+            Salon salon = salonRepository.findWithImagesById(salonId).orElse(null);
+            if (salon == null) {
+                throw new Exception("Salon not exist");
+            }
+            return salon;
+        });
+    }
+
+    @Override
+    public List<Salon> getSalonsByIds(Set<Long> salonIds) {
+        return salonRepository.findAllById(salonIds);
     }
 
     @Override
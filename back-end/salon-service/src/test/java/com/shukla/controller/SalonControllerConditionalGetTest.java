@@ -0,0 +1,115 @@
+package com.shukla.controller;
+
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.model.Salon;
+import com.shukla.repository.SalonRepository;
+import com.shukla.service.impl.SalonServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a browser revalidating a salon and the salon list: 304 from the version counters alone until a write
+// through the service bumps them. Only the repository is mocked, so the write path is the real one.
+class SalonControllerConditionalGetTest {
+
+    private final SalonRepository salonRepository = mock(SalonRepository.class);
+    private final CatalogVersions catalogVersions = new CatalogVersions(Duration.ZERO);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Salon salon = salon(7L, "Shear Bliss");
+        Salon other = salon(8L, "Mane Street");
+        when(salonRepository.findWithImagesById(7L)).thenReturn(Optional.of(salon));
+        when(salonRepository.findWithImagesById(8L)).thenReturn(Optional.of(other));
+        when(salonRepository.findById(7L)).thenReturn(Optional.of(salon));
+        when(salonRepository.findAll()).thenReturn(List.of(salon, other));
+        when(salonRepository.save(any(Salon.class))).then(returnsFirstArg());
+
+        SalonServiceImpl salonService = new SalonServiceImpl(salonRepository, mock(RestTemplate.class),
+                catalogVersions, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new SalonController(salonService, catalogVersions)).build();
+    }
+
+    @Test
+    void matchingETagIsAnsweredWithoutLoading() throws Exception {
+        String salonETag = mockMvc.perform(get("/api/salons/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(content().json("{\"id\":7,\"name\":\"Shear Bliss\"}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String listETag = mockMvc.perform(get("/api/salons"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":7},{\"id\":8}]"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/salons/7").header(HttpHeaders.IF_NONE_MATCH, salonETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, salonETag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/salons").header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(salonRepository, times(1)).findWithImagesById(7L);
+        verify(salonRepository, times(1)).findAll();
+    }
+
+    @Test
+    void updateChangesTheSalonAndListETags() throws Exception {
+        String salonETag = mockMvc.perform(get("/api/salons/7"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String otherETag = mockMvc.perform(get("/api/salons/8"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String listETag = mockMvc.perform(get("/api/salons"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/salons/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Shear Bliss Spa\",\"ownerId\":1}"))
+                .andExpect(status().isOk());
+
+        String newSalonETag = mockMvc.perform(get("/api/salons/7").header(HttpHeaders.IF_NONE_MATCH, salonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":7,\"name\":\"Shear Bliss Spa\"}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String newListETag = mockMvc.perform(get("/api/salons").header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/salons/8").header(HttpHeaders.IF_NONE_MATCH, otherETag))
+                .andExpect(status().isNotModified());
+
+        assertNotEquals(salonETag, newSalonETag);
+        assertNotEquals(listETag, newListETag);
+    }
+
+    private static Salon salon(Long id, String name) {
+        Salon salon = new Salon();
+        salon.setId(id);
+        salon.setName(name);
+        salon.setOwnerId(1L);
+        return salon;
+    }
+}
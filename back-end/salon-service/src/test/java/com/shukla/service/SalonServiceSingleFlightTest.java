@@ -0,0 +1,74 @@
+package com.shukla.service;
+
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.model.Salon;
+import com.shukla.repository.SalonRepository;
+import com.shukla.service.impl.SalonServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// getSalonById goes through SingleFlight (covered by SingleFlightTest) keyed by salon and catalog version:
+// a read that starts while a load is running joins it, unless a write bumped the version in between
+class SalonServiceSingleFlightTest {
+
+    @Test
+    void readsShareALoadOnlyWithinOneCatalogVersion() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CatalogVersions catalogVersions = new CatalogVersions(Duration.ZERO);
+        SalonRepository salonRepository = mock(SalonRepository.class);
+        SalonService salonService = new SalonServiceImpl(salonRepository, new RestTemplate(), catalogVersions, meterRegistry);
+
+        Salon salon = new Salon();
+        salon.setId(7L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(salonRepository.findWithImagesById(7L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(salon);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Salon> first = executor.submit(() -> salonService.getSalonById(7L));
+            awaitCount(meterRegistry, "singleflight.loads", 1);
+            Future<Salon> sameVersion = executor.submit(() -> salonService.getSalonById(7L));
+            awaitCount(meterRegistry, "singleflight.coalesced", 1);
+            catalogVersions.bump(7L);
+            Future<Salon> afterWrite = executor.submit(() -> salonService.getSalonById(7L));
+            awaitCount(meterRegistry, "singleflight.loads", 2);
+            release.countDown();
+
+            for (Future<Salon> result : List.of(first, sameVersion, afterWrite)) {
+                assertEquals(7L, result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(salonRepository, times(2)).findWithImagesById(7L);
+        assertEquals(1, meterRegistry.get("singleflight.coalesced").counter().count());
+    }
+
+    private static void awaitCount(MeterRegistry meterRegistry, String counter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(counter).counter().count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, meterRegistry.get(counter).counter().count());
+    }
+}
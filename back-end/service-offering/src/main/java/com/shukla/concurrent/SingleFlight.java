@@ -0,0 +1,75 @@
+package com.shukla.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lets concurrent callers for the same key share one in-flight load: the first caller runs it, callers
+// arriving before it finishes wait for its result (or its exception) instead of repeating the query.
+// Nothing is cached, the next call after the load finishes runs a new one, so results are never staler
+// than the slowest concurrent reader. Callers share the returned object and must not modify it.
+// Metrics, tagged with name: singleflight.loads (loads run) and singleflight.coalesced (callers that waited).
+// salon-service, category-service and service-offering keep identical copies; SingleFlightTest in salon-service
+// covers them, each service only tests that its read goes through it.
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("singleflight.loads")
+                .description("Loads run on behalf of one or more concurrent callers")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.coalesced")
+                .description("Callers served by another caller's in-flight load")
+                .tag("name", name)
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("singleflight.in-flight", Tags.of("name", name), inFlight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> V execute(K key, Load<V, E> load) throws E {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            loads.increment();
+            try {
+                V value = load.call();
+                mine.complete(value);
+                return value;
+            } catch (Exception | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        coalesced.increment();
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // the leader's own exception, which Load declared as E unless it is unchecked
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (E) cause;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Load<V, E extends Exception> {
+        V call() throws E;
+    }
+}
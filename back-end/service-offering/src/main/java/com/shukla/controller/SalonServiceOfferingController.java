@@ -6,13 +6,11 @@ import com.shukla.dto.ServiceDTO;
 import com.shukla.model.ServiceOffering;
 import com.shukla.service.ServiceOfferingService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Set;
 
-@CrossOrigin(origins = "http://localhost:5173")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/service-offering/salon-owner")
@@ -1,30 +1,40 @@
 package com.shukla.controller;
 
+import com.shukla.catalog.CatalogVersions;
 import com.shukla.model.ServiceOffering;
 import com.shukla.service.ServiceOfferingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Set;
 
 import static org.springframework.data.jpa.domain.AbstractPersistable_.id;
 
-@CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("api/service-offering")
 @RequiredArgsConstructor
 public class ServiceOfferingController {
 
     private final ServiceOfferingService serviceOfferingService;
+    private final CatalogVersions catalogVersions;
 
+    // conditional: a matching If-None-Match is answered with 304 before any service is loaded
     @GetMapping("/salon/{salonId}")
     public ResponseEntity<Set<ServiceOffering>> getServicesBySalonId(
             @PathVariable Long salonId,
-            @RequestParam(required = false) Long categoryId
+            @RequestParam(required = false) Long categoryId,
+            WebRequest request
     ) {
+        String scope = categoryId == null ? "salon-" + salonId : "salon-" + salonId + "-category-" + categoryId;
+        String etag = catalogVersions.etag(scope, catalogVersions.version(salonId));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl()).build();
+        }
         Set<ServiceOffering> serviceOfferings = serviceOfferingService.getAllServiceBySalonId(salonId, categoryId);
-        return ResponseEntity.ok(serviceOfferings);
+        return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(serviceOfferings);
     }
 
 
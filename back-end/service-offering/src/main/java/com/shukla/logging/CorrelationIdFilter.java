@@ -0,0 +1,67 @@
+package com.shukla.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Tags every request with a correlation id, taken from X-Correlation-Id when the caller sent a usable one
+// and generated here otherwise. It is in the MDC for every log line of the request and echoed on the response;
+// calls to other services carry it on (CorrelationIdInterceptor for RestTemplate, UpstreamClient in the gateway).
+// The debug sampling decision comes in with X-Debug-Sampled or is made here, at the first service a request
+// reaches, and travels the same way; SampledDebugFilter acts on it.
+// Every module has an identical copy of this file, as are SampledDebugFilter and logback-spring.xml; keep them in step.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String SAMPLED_HEADER = "X-Debug-Sampled";
+    public static final String MDC_KEY = "correlationId";
+    public static final String SAMPLED_MDC_KEY = "sampled";
+
+    // anything else would let a client write arbitrary text into our log lines
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final double debugSampleRate;
+
+    public CorrelationIdFilter(@Value("${logging.debug-sample-rate:0.01}") double debugSampleRate) {
+        this.debugSampleRate = debugSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(HEADER);
+        if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+        String sampledHeader = request.getHeader(SAMPLED_HEADER);
+        boolean sampled = sampledHeader != null
+                ? Boolean.parseBoolean(sampledHeader)
+                : ThreadLocalRandom.current().nextDouble() < debugSampleRate;
+
+        MDC.put(MDC_KEY, correlationId);
+        if (sampled) {
+            MDC.put(SAMPLED_MDC_KEY, "true");
+        }
+        response.setHeader(HEADER, correlationId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+            MDC.remove(SAMPLED_MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.shukla.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Counts the SQL statements Hibernate prepares and the entities it loads on the current request thread,
+// for RequestQueryMetricsFilter. Registers itself as the session factory's statement inspector and
+// interceptor; outside a request (scheduled jobs, startup) there is no counter and nothing is counted.
+@Component
+public class RequestQueryCounter implements StatementInspector, Interceptor, HibernatePropertiesCustomizer {
+
+    // [statements, entity loads]
+    private static final ThreadLocal<long[]> COUNTS = new ThreadLocal<>();
+
+    static void start() {
+        COUNTS.set(new long[2]);
+    }
+
+    static long[] stop() {
+        long[] counts = COUNTS.get();
+        COUNTS.remove();
+        return counts;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        // one set explicitly, like the SQL capture in tests, is left alone
+        hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.putIfAbsent(AvailableSettings.INTERCEPTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] counts = COUNTS.get();
+        if (counts != null) {
+            counts[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        long[] counts = COUNTS.get();
+        if (counts != null) {
+            counts[1]++;
+        }
+        return false;
+    }
+}
@@ -1,13 +1,18 @@
 package com.shukla.service.impl;
 
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.concurrent.SingleFlight;
 import com.shukla.dto.CategoryDTO;
 import com.shukla.dto.SalonDTO;
 import com.shukla.dto.ServiceDTO;
 import com.shukla.model.ServiceOffering;
 import com.shukla.repository.ServiceOfferingRepository;
 import com.shukla.service.ServiceOfferingService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 
 import java.util.HashSet;
 import java.util.List;
@@ -17,10 +22,26 @@ import java.util.stream.Collectors;
 
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class ServiceOfferingServiceImpl implements ServiceOfferingService {
 
     private final ServiceOfferingRepository serviceOfferingRepository;
+    private final RestTemplate restTemplate;
+    private final CatalogVersions catalogVersions;
+    // a featured salon's menu is read by many requests at once, concurrent reads of one salon share a query.
+    // Keyed by salon and catalog version, so a read that starts after a write never joins a load from before it.
+    private final SingleFlight<String, Set<ServiceOffering>> salonServiceLoads;
+
+    @Value("${booking-service.url}")
+    private String bookingServiceUrl;
+
+    public ServiceOfferingServiceImpl(ServiceOfferingRepository serviceOfferingRepository, RestTemplate restTemplate,
+                                      CatalogVersions catalogVersions, MeterRegistry meterRegistry) {
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.restTemplate = restTemplate;
+        this.catalogVersions = catalogVersions;
+        this.salonServiceLoads = new SingleFlight<>("service-offering.by-salon", meterRegistry);
+    }
 
 
     @Override
@@ -36,7 +57,9 @@ public class ServiceOfferingServiceImpl implements ServiceOfferingService {
         serviceOffering.setPrice(serviceDTO.getPrice());
         serviceOffering.setDuration(serviceDTO.getDuration());
 
-        return serviceOfferingRepository.save(serviceOffering);
+        ServiceOffering savedService = serviceOfferingRepository.save(serviceOffering);
+        catalogVersions.bump(savedService.getSalonId());
+        return savedService;
     }
 
     @Override
@@ -53,19 +76,32 @@ public class ServiceOfferingServiceImpl implements ServiceOfferingService {
         serviceOffering.setPrice(service.getPrice());
         serviceOffering.setDuration(service.getDuration());
 
-        return serviceOfferingRepository.save(serviceOffering);
+        ServiceOffering savedService = serviceOfferingRepository.save(serviceOffering);
+        catalogVersions.bump(savedService.getSalonId());
+        evictBookingServiceCache(serviceId);
+        return savedService;
+    }
+
+    // booking-service caches price and duration per service id; its TTL covers a failed call
+    private void evictBookingServiceCache(Long serviceId) {
+        try {
+            restTemplate.delete(bookingServiceUrl + "/api/bookings/cache/services/" + serviceId);
+        } catch (Exception e) {
+            log.warn("booking-service service cache eviction failed serviceId={} error={}", serviceId, e.getMessage());
+        }
     }
 
     @Override
     public Set<ServiceOffering> getAllServiceBySalonId(Long salonID, Long categoryId) {
-        Set<ServiceOffering> services = serviceOfferingRepository
-                .findBySalonId(salonID);
+        // the load is shared per salon, each caller filters its own copy by category
+        Set<ServiceOffering> services = salonServiceLoads.execute(salonID + ":" + catalogVersions.version(salonID),
+                () -> serviceOfferingRepository.findBySalonId(salonID));
 
         if(categoryId!=null){
-            services=services.stream().filter((service)->service.getCategoryId()!=null &&
-                    service.getCategoryId()==categoryId).collect(Collectors.toSet());
+            return services.stream().filter((service)->service.getCategoryId()!=null &&
+                    service.getCategoryId().equals(categoryId)).collect(Collectors.toSet());
         }
-        return services;
+        return new HashSet<>(services);
     }
 
     @Override
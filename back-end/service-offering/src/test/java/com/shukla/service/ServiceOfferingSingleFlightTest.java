@@ -0,0 +1,81 @@
+package com.shukla.service;
+
+import com.shukla.catalog.CatalogVersions;
+import com.shukla.model.ServiceOffering;
+import com.shukla.repository.ServiceOfferingRepository;
+import com.shukla.service.impl.ServiceOfferingServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// getAllServiceBySalonId goes through SingleFlight (covered by SingleFlightTest in salon-service) keyed by salon
+// and catalog version: a read that starts while a load is running joins it, unless a write bumped the version
+// in between. The category filter runs on each caller's copy of the shared result.
+class ServiceOfferingSingleFlightTest {
+
+    @Test
+    void readsShareALoadOnlyWithinOneCatalogVersion() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CatalogVersions catalogVersions = new CatalogVersions(Duration.ZERO);
+        ServiceOfferingRepository serviceOfferingRepository = mock(ServiceOfferingRepository.class);
+        ServiceOfferingService serviceOfferingService = new ServiceOfferingServiceImpl(serviceOfferingRepository,
+                new RestTemplate(), catalogVersions, meterRegistry);
+
+        ServiceOffering haircut = new ServiceOffering();
+        haircut.setId(1L);
+        haircut.setCategoryId(1000L);
+        ServiceOffering facial = new ServiceOffering();
+        facial.setId(2L);
+        facial.setCategoryId(2000L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(serviceOfferingRepository.findBySalonId(7L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Set.of(haircut, facial);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Set<ServiceOffering>> first = executor.submit(() -> serviceOfferingService.getAllServiceBySalonId(7L, null));
+            awaitCount(meterRegistry, "singleflight.loads", 1);
+            // 1000 is above the Long cache, the filter must compare values
+            Future<Set<ServiceOffering>> sameVersion = executor.submit(
+                    () -> serviceOfferingService.getAllServiceBySalonId(7L, Long.valueOf(1000)));
+            awaitCount(meterRegistry, "singleflight.coalesced", 1);
+            catalogVersions.bump(7L);
+            Future<Set<ServiceOffering>> afterWrite = executor.submit(() -> serviceOfferingService.getAllServiceBySalonId(7L, null));
+            awaitCount(meterRegistry, "singleflight.loads", 2);
+            release.countDown();
+
+            assertEquals(Set.of(haircut, facial), first.get(5, TimeUnit.SECONDS));
+            assertEquals(Set.of(haircut), sameVersion.get(5, TimeUnit.SECONDS));
+            assertEquals(Set.of(haircut, facial), afterWrite.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(serviceOfferingRepository, times(2)).findBySalonId(7L);
+        assertEquals(1, meterRegistry.get("singleflight.coalesced").counter().count());
+    }
+
+    private static void awaitCount(MeterRegistry meterRegistry, String counter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(counter).counter().count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, meterRegistry.get(counter).counter().count());
+    }
+}
@@ -50,7 +50,7 @@ const BookingForm = ({ salon, salonId, onSuccess, onError, onClose }) => {
                 console.log('🔍 Loading services for salon:', salonId);
 
                 // Load services
-                const servicesResponse = await fetch(`http://localhost:5004/api/service-offering/salon/${salonId}`);
+                const servicesResponse = await fetch(`http://localhost:5000/api/service-offering/salon/${salonId}`);
                 
                 if (!servicesResponse.ok) {
                     throw new Error(`Failed to load services: ${servicesResponse.status}`);
@@ -142,7 +142,7 @@ const BookingForm = ({ salon, salonId, onSuccess, onError, onClose }) => {
                 serviceIds: selectedServices.map(id => parseInt(id))
             };
 
-            const bookingResponse = await fetch(`http://localhost:5005/api/bookings?salonId=${salonId}&customerId=${user.id}`, {
+            const bookingResponse = await fetch(`http://localhost:5000/api/bookings?salonId=${salonId}&customerId=${user.id}`, {
                 method: 'POST',
                 headers: { 
                     'Content-Type': 'application/json',
@@ -171,7 +171,7 @@ const BookingForm = ({ salon, salonId, onSuccess, onError, onClose }) => {
 
                 console.log('🏪 Setting up pay-at-salon:', payAtSalonData);
 
-                const payAtSalonResponse = await fetch('http://localhost:5006/api/payments/pay-at-salon', {
+                const payAtSalonResponse = await fetch('http://localhost:5000/api/payments/pay-at-salon', {
                     method: 'POST',
                     headers: { 
                         'Content-Type': 'application/json',
@@ -216,7 +216,7 @@ const BookingForm = ({ salon, salonId, onSuccess, onError, onClose }) => {
 
                 console.log('💳 Creating online payment:', paymentData);
 
-                const paymentResponse = await fetch(`http://localhost:5006/api/payments/create?paymentMethod=${paymentMethod}`, {
+                const paymentResponse = await fetch(`http://localhost:5000/api/payments/create?paymentMethod=${paymentMethod}`, {
                     method: 'POST',
                     headers: { 
                         'Content-Type': 'application/json',
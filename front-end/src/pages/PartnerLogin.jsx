@@ -75,7 +75,7 @@ function PartnerLogin() {
 
     try {
       console.log("📡 Making login request...");
-      const res = await fetch("http://localhost:5002/api/salons/auth/partner/login", {
+      const res = await fetch("http://localhost:5000/api/salons/auth/partner/login", {
         method: "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(payload),
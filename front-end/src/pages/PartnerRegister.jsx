@@ -91,7 +91,7 @@ function PartnerRegister() {
     console.log("🚀 Sending registration payload:", formData);
 
     try {
-      const res = await fetch("http://localhost:5002/api/salons", {
+      const res = await fetch("http://localhost:5000/api/salons", {
         method: "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(formData)
@@ -20,7 +20,7 @@ const PaymentSuccess = () => {
             try {
                 console.log(`Attempt ${attempt} to update booking ${bookingId} status`);
                 
-                const response = await fetch(`http://localhost:5005/api/bookings/${bookingId}/status?status=CONFIRMED`, {
+                const response = await fetch(`http://localhost:5000/api/bookings/${bookingId}/status?status=CONFIRMED`, {
                     method: 'PUT',
                     headers: {
                         'Authorization': `Bearer ${localStorage.getItem('token')}`,
@@ -84,7 +84,7 @@ const PaymentSuccess = () => {
 
                     console.log('Processing Razorpay payment:', razorpayData);
 
-                    const response = await fetch('http://localhost:5006/api/payments/proceed-razorpay', {
+                    const response = await fetch('http://localhost:5000/api/payments/proceed-razorpay', {
                         method: 'POST',
                         headers: { 
                             'Content-Type': 'application/json',
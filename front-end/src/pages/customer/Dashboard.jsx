@@ -135,7 +135,7 @@ export default function CustomerDashboard() {
   const fetchSalons = async () => {
     try {
       setError("");
-      const response = await axios.get("http://localhost:5002/api/salons");
+      const response = await axios.get("http://localhost:5000/api/salons");
       
       const validSalons = response.data.filter(salon => {
         return salon.id && salon.name;
@@ -180,7 +180,7 @@ export default function CustomerDashboard() {
         return;
       }
 
-      const response = await axios.get(`http://localhost:5005/api/bookings/customer/${userId}`);
+      const response = await axios.get(`http://localhost:5000/api/bookings/customer/${userId}/history`);
       
       const normalizedBookings = (response.data || []).map(booking => ({
         ...booking,
@@ -219,7 +219,7 @@ export default function CustomerDashboard() {
     try {
       localStorage.setItem("salonId", salonId.toString());
       
-      const response = await axios.get(`http://localhost:5002/api/salons/${salonId}`);
+      const response = await axios.get(`http://localhost:5000/api/salons/${salonId}`);
       
       if (response.data) {
         const enhancedSalon = {
@@ -319,7 +319,7 @@ export default function CustomerDashboard() {
     if (!confirmed) return;
 
     try {
-      await axios.delete(`http://localhost:5005/api/bookings/${bookingId}`);
+      await axios.delete(`http://localhost:5000/api/bookings/${bookingId}`);
       
       showAlert('success', 'Booking Deleted', 'Your booking has been successfully deleted.');
       
@@ -411,7 +411,7 @@ export default function CustomerDashboard() {
 
   const handlePaymentCheck = async (bookingId) => {
     try {
-      const response = await axios.get(`http://localhost:5006/api/payments/basic/${bookingId}`);
+      const response = await axios.get(`http://localhost:5000/api/payments/basic/${bookingId}`);
       const payment = response.data;
       
       const paymentDetails = `Status: ${payment.status}\nAmount: ₹${payment.amount}\nMethod: ${payment.paymentMethod}\nDate: ${new Date(payment.createdAt || Date.now()).toLocaleDateString()}`;
@@ -448,13 +448,13 @@ export default function CustomerDashboard() {
 
       if (paymentMethod === 'PAY_AT_SALON') {
         try {
-          await axios.patch(`http://localhost:5005/api/bookings/${booking.id}/status`, {
+          await axios.patch(`http://localhost:5000/api/bookings/${booking.id}/status`, {
             status: "CONFIRMED",
             paymentMethod: "PAY_AT_SALON",
             paymentStatus: "PENDING_SALON_PAYMENT"
           });
 
-          await axios.post(`http://localhost:5006/api/payments/pay-at-salon`, {
+          await axios.post(`http://localhost:5000/api/payments/pay-at-salon`, {
             bookingId: booking.id,
             paymentMethod: "PAY_AT_SALON",
             status: "PENDING_SALON_PAYMENT",
@@ -475,7 +475,7 @@ export default function CustomerDashboard() {
       }
 
       const paymentResponse = await axios.post(
-        `http://localhost:5006/api/payments/create?paymentMethod=${paymentMethod}`,
+        `http://localhost:5000/api/payments/create?paymentMethod=${paymentMethod}`,
         paymentPayload,
         {
           timeout: 30000,
@@ -846,7 +846,7 @@ export default function CustomerDashboard() {
                 <div key={booking.id} className={`booking-card p-6 ${index === 0 ? 'recent' : ''}`}>
                   <div className="flex-between mb-4">
                     <div>
-                      <h3 className="font-bold text-lg text-gray-800">{getSalonName(booking.salonId)}</h3>
+                      <h3 className="font-bold text-lg text-gray-800">{booking.salonName || getSalonName(booking.salonId)}</h3>
                       {index === 0 && (
                         <span className="text-sm text-green-600 font-medium">
                           <i className="fas fa-star mr-1"></i>Most Recent
@@ -944,7 +944,7 @@ export default function CustomerDashboard() {
                 <div key={booking.id} className={`booking-card p-6 ${index === 0 ? 'recent' : ''}`}>
                   <div className="flex-between mb-4">
                     <div>
-                      <h3 className="font-bold text-lg text-gray-800">{getSalonName(booking.salonId)}</h3>
+                      <h3 className="font-bold text-lg text-gray-800">{booking.salonName || getSalonName(booking.salonId)}</h3>
                       {index === 0 && (
                         <span className="text-sm text-green-600 font-medium">
                           <i className="fas fa-star mr-1"></i>Most Recent
@@ -58,7 +58,7 @@ export default function Account() {
         return;
       }
 
-      const response = await axios.get(`http://localhost:5002/api/salons/${currentSalonId}`);
+      const response = await axios.get(`http://localhost:5000/api/salons/${currentSalonId}`);
       setForm({
         name: response.data.name || "",
         email: response.data.email || "",
@@ -142,7 +142,7 @@ export default function Account() {
       
       console.log("Sending Update Payload:", form);
 
-      const response = await axios.put(`http://localhost:5002/api/salons/${currentSalonId}`, form);
+      const response = await axios.put(`http://localhost:5000/api/salons/${currentSalonId}`, form);
       
       setForm(response.data);
       setMessage({ type: 'success', text: 'Account updated successfully!' });
@@ -95,7 +95,7 @@ export default function AddService() {
       console.log("Adding service for salon:", salonId, serviceData);
 
       const response = await makeAuthenticatedRequest(
-        "http://localhost:5004/api/service-offering/salon-owner",
+        "http://localhost:5000/api/service-offering/salon-owner",
         {
           method: 'POST',
           headers: {
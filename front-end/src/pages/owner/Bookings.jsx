@@ -79,7 +79,7 @@ export default function Bookings() {
       setLoading(true);
       setError(null);
       
-      const response = await axios.get(`http://localhost:5005/api/bookings/salon/${currentSalonId}`);
+      const response = await axios.get(`http://localhost:5000/api/bookings/salon/${currentSalonId}`);
       
       let bookingsArray = [];
       if (Array.isArray(response.data)) {
@@ -128,7 +128,7 @@ export default function Bookings() {
     try {
       setError(null);
       
-      const response = await axios.patch(`http://localhost:5005/api/bookings/${bookingId}/status`, {
+      const response = await axios.patch(`http://localhost:5000/api/bookings/${bookingId}/status`, {
         status: newStatus.toUpperCase()
       });
       
@@ -65,7 +65,7 @@ export default function Categories() {
       
       // First, get all services for this salon to extract categories
       const response = await makeAuthenticatedRequest(
-        `http://localhost:5004/api/service-offering/salon/${salonId}`,
+        `http://localhost:5000/api/service-offering/salon/${salonId}`,
         { method: 'GET' }
       );
       
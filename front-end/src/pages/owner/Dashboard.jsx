@@ -63,7 +63,7 @@ export default function Dashboard() {
         return;
       }
 
-      const response = await axios.get(`http://localhost:5005/api/bookings/owner/${ownerId}`);
+      const response = await axios.get(`http://localhost:5000/api/bookings/owner/${ownerId}`);
       
       const normalizedBookings = (response.data || []).map(booking => ({
         ...booking,
@@ -96,14 +96,14 @@ export default function Dashboard() {
 
       if (!confirmPayment) return;
 
-      await axios.patch(`http://localhost:5006/api/payments/mark-received/${booking.id}`, {
+      await axios.patch(`http://localhost:5000/api/payments/mark-received/${booking.id}`, {
         receivedAmount: booking.totalPrice,
         receivedAt: new Date().toISOString(),
         receivedBy: JSON.parse(localStorage.getItem("user"))?.id,
         paymentMethod: "CASH_AT_SALON"
       });
 
-      await axios.patch(`http://localhost:5005/api/bookings/${booking.id}/payment-status`, {
+      await axios.patch(`http://localhost:5000/api/bookings/${booking.id}/payment-status`, {
         paymentStatus: "COMPLETED",
         paidAt: new Date().toISOString()
       });
@@ -133,7 +133,7 @@ export default function Dashboard() {
 
       if (!disputeReason || disputeReason.trim() === '') return;
 
-      await axios.post(`http://localhost:5006/api/payments/dispute`, {
+      await axios.post(`http://localhost:5000/api/payments/dispute`, {
         bookingId: booking.id,
         reason: disputeReason.trim(),
         reportedBy: JSON.parse(localStorage.getItem("user"))?.id,
@@ -232,8 +232,8 @@ export default function Dashboard() {
 
   const fetchBookings = async (currentSalonId) => {
     const url = currentSalonId 
-      ? `http://localhost:5005/api/bookings/salon/${currentSalonId}`
-      : `http://localhost:5005/api/bookings/salon`;
+      ? `http://localhost:5000/api/bookings/salon/${currentSalonId}`
+      : `http://localhost:5000/api/bookings/salon`;
       
     const response = await makeAuthenticatedRequest(url, { method: 'GET' });
     
@@ -248,8 +248,8 @@ export default function Dashboard() {
 
   const fetchServices = async (currentSalonId) => {
     const url = currentSalonId
-      ? `http://localhost:5004/api/service-offering/salon/${currentSalonId}`
-      : `http://localhost:5004/api/service-offering/salon`;
+      ? `http://localhost:5000/api/service-offering/salon/${currentSalonId}`
+      : `http://localhost:5000/api/service-offering/salon`;
       
     const response = await makeAuthenticatedRequest(url, { method: 'GET' });
     
@@ -264,8 +264,8 @@ export default function Dashboard() {
 
   const fetchPayments = async (currentSalonId) => {
     const url = currentSalonId
-      ? `http://localhost:5006/api/payments/salon/${currentSalonId}`
-      : `http://localhost:5006/api/payments/salon`;
+      ? `http://localhost:5000/api/payments/salon/${currentSalonId}`
+      : `http://localhost:5000/api/payments/salon`;
       
     const response = await makeAuthenticatedRequest(url, { method: 'GET' });
     
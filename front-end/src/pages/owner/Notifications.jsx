@@ -575,8 +575,8 @@ export default function Notifications() {
 
       // Fetch both bookings and payments in parallel
       const [bookingsResponse, paymentsResponse] = await Promise.allSettled([
-        axios.get(`http://localhost:5005/api/bookings/salon/${currentSalonId}`),
-        makeAuthenticatedRequest(`http://localhost:5006/api/payments/salon/${currentSalonId}`, { method: 'GET' })
+        axios.get(`http://localhost:5000/api/bookings/salon/${currentSalonId}`),
+        makeAuthenticatedRequest(`http://localhost:5000/api/payments/salon/${currentSalonId}`, { method: 'GET' })
           .then(res => res.json())
           .catch(() => []) // If payments fail, return empty array
       ]);
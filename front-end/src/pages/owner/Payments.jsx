@@ -49,7 +49,7 @@ export default function Payments() {
       console.log("💳 Fetching payments for salon:", salonId);
       
       const response = await makeAuthenticatedRequest(
-        `http://localhost:5006/api/payments/salon/${salonId}`,
+        `http://localhost:5000/api/payments/salon/${salonId}`,
         { method: 'GET' }
       );
       
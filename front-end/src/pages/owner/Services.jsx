@@ -42,7 +42,7 @@ export default function Services() {
       
       // Use the utility function for authenticated requests
       const response = await makeAuthenticatedRequest(
-        `http://localhost:5004/api/service-offering/salon/${salonId}`,
+        `http://localhost:5000/api/service-offering/salon/${salonId}`,
         { method: 'GET' }
       );
       
@@ -72,7 +72,7 @@ export default function Services() {
       console.log("🗑️ Deleting service:", serviceId, "for salon:", salonId);
       
       const response = await makeAuthenticatedRequest(
-        `http://localhost:5004/api/service-offering/${serviceId}`,
+        `http://localhost:5000/api/service-offering/${serviceId}`,
         { method: 'DELETE' }
       );
       
@@ -40,7 +40,7 @@ export default function Transactions() {
       console.log("💳 Fetching transactions for salon:", salonId);
       
       const response = await makeAuthenticatedRequest(
-        `http://localhost:5006/api/payments/salon/${salonId}`,
+        `http://localhost:5000/api/payments/salon/${salonId}`,
         { method: 'GET' }
       );
       
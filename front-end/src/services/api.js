@@ -1,9 +1,10 @@
 // src/services/api.js - Fixed version
 import axios from "axios";
 
+// Every instance goes through the api-gateway (port 5000), which routes to the services
 // Create the main API instance for auth service
 const API = axios.create({
-  baseURL: "http://localhost:5001", // Remove /api from here since endpoints include it
+  baseURL: "http://localhost:5000", // Remove /api from here since endpoints include it
   timeout: 10000,
   headers: {
     'Content-Type': 'application/json',
@@ -12,7 +13,7 @@ const API = axios.create({
 
 // Create additional API instances for other services
 export const salonAPI = axios.create({
-  baseURL: "http://localhost:5002/api",
+  baseURL: "http://localhost:5000/api",
   timeout: 10000,
   headers: {
     'Content-Type': 'application/json',
@@ -20,7 +21,7 @@ export const salonAPI = axios.create({
 });
 
 export const bookingAPI = axios.create({
-  baseURL: "http://localhost:5005/api",
+  baseURL: "http://localhost:5000/api",
   timeout: 10000,
   headers: {
     'Content-Type': 'application/json',
@@ -28,7 +29,7 @@ export const bookingAPI = axios.create({
 });
 
 export const paymentAPI = axios.create({
-  baseURL: "http://localhost:5006/api",
+  baseURL: "http://localhost:5000/api",
   timeout: 10000,
   headers: {
     'Content-Type': 'application/json',
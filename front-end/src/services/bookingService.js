@@ -3,7 +3,7 @@
 import axios from "axios";
 import { bookingAPI } from "./api";
 
-const BOOKING_API_BASE = "http://localhost:5005/api/bookings";
+const BOOKING_API_BASE = "http://localhost:5000/api/bookings";
 
 /* =========================================================================
    🔹 BOOKING SERVICES
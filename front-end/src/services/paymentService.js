@@ -18,7 +18,7 @@ export const getPaymentsBySalon = async (salonId) => {
 
     // Use the authenticated request utility
     const response = await makeAuthenticatedRequest(
-      `http://localhost:5006/api/payments/salon/${salonId}`,
+      `http://localhost:5000/api/payments/salon/${salonId}`,
       { method: 'GET' }
     );
 
@@ -50,7 +50,7 @@ export const getPaymentById = async (paymentId) => {
     }
 
     const response = await makeAuthenticatedRequest(
-      `http://localhost:5006/api/payments/${paymentId}`,
+      `http://localhost:5000/api/payments/${paymentId}`,
       { method: 'GET' }
     );
 
@@ -94,7 +94,7 @@ export const processPayment = async (paymentData) => {
     console.log("💳 Processing payment:", payload);
 
     const response = await makeAuthenticatedRequest(
-      "http://localhost:5006/api/payments/process",
+      "http://localhost:5000/api/payments/process",
       {
         method: 'POST',
         body: JSON.stringify(payload)
@@ -128,7 +128,7 @@ export const getPaymentStats = async () => {
     }
 
     const response = await makeAuthenticatedRequest(
-      `http://localhost:5006/api/payments/stats/salon/${salonId}`,
+      `http://localhost:5000/api/payments/stats/salon/${salonId}`,
       { method: 'GET' }
     );
 
@@ -160,7 +160,7 @@ export const updatePaymentStatus = async (paymentId, status) => {
     }
 
     const response = await makeAuthenticatedRequest(
-      `http://localhost:5006/api/payments/${paymentId}/status`,
+      `http://localhost:5000/api/payments/${paymentId}/status`,
       {
         method: 'PATCH',
         body: JSON.stringify({ status, salonId })